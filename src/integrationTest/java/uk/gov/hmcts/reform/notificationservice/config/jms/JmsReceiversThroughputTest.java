@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.notificationservice.config.jms;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import uk.gov.hmcts.reform.notificationservice.service.JmsNotificationMessageProcessor;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Runs the JMS listener against an embedded broker, so the AMQP path can be load-tested locally.
+ * Number of messages can be raised with {@code -Djms.throughput.messages=<count>}.
+ */
+//TODO: FACT-2026 - whole class can go
+@SpringJUnitConfig({JmsConfiguration.class, JmsReceivers.class})
+@TestPropertySource(properties = {
+    "jms.enabled=true",
+    "jms.application-name=notifications-throughput-test",
+    "jms.namespace=embedded",
+    "jms.amqp-connection-string-template=vm://embedded?broker.persistent=false&broker.useJmx=false",
+    "jms.username=admin",
+    "jms.password=admin",
+    "jms.receiveTimeout=1000",
+    "jms.idleTimeout=30000",
+    "jms.min-consumers=4",
+    "jms.max-consumers=4"
+})
+class JmsReceiversThroughputTest {
+
+    private static final Logger log = getLogger(JmsReceiversThroughputTest.class);
+
+    private static final int MESSAGE_COUNT = Integer.getInteger("jms.throughput.messages", 200);
+    // stands in for the time it takes to save a notification
+    private static final long HANDLING_MILLIS = 10;
+
+    @Autowired
+    private JmsTemplate jmsTemplate;
+
+    @MockitoBean
+    private JmsNotificationMessageProcessor jmsNotificationMessageProcessor;
+
+    @Test
+    void should_consume_messages_on_several_consumer_threads() throws Exception {
+        // given
+        var consumed = new CountDownLatch(MESSAGE_COUNT);
+        Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+        willAnswer(invocation -> {
+            consumerThreads.add(Thread.currentThread().getName());
+            Thread.sleep(HANDLING_MILLIS);
+            consumed.countDown();
+            return null;
+        }).given(jmsNotificationMessageProcessor).processNextMessage(any(), anyString());
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            jmsTemplate.convertAndSend("notifications", "{\"zip_file_name\":\"" + i + ".zip\"}");
+        }
+        boolean allConsumed = consumed.await(1, TimeUnit.MINUTES);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(allConsumed).isTrue();
+        assertThat(consumerThreads).hasSizeGreaterThan(1);
+        log.info(
+            "Consumed {} messages in {} ms on {} consumer threads",
+            MESSAGE_COUNT,
+            elapsed.toMillis(),
+            consumerThreads.size()
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class DispatchCheckpointRepositoryTest {
+
+    @Autowired NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired DispatchCheckpointRepository dispatchCheckpointRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM dispatch_checkpoints", Collections.emptyMap());
+    }
+
+    @Test //TODO: FACT-2026
+    void should_start_from_the_beginning_when_there_is_no_checkpoint() {
+        assertThat(dispatchCheckpointRepository.find("pending-notifications")).isZero();
+    }
+
+    @Test //TODO: FACT-2026
+    void should_save_overwrite_and_clear_checkpoint() {
+        // when
+        dispatchCheckpointRepository.save("pending-notifications", 10);
+        dispatchCheckpointRepository.save("pending-notifications", 20);
+        dispatchCheckpointRepository.save("other", 5);
+
+        // then
+        assertThat(dispatchCheckpointRepository.find("pending-notifications")).isEqualTo(20);
+        assertThat(dispatchCheckpointRepository.find("other")).isEqualTo(5);
+
+        // and when
+        dispatchCheckpointRepository.clear("pending-notifications");
+
+        // then
+        assertThat(dispatchCheckpointRepository.find("pending-notifications")).isZero();
+        assertThat(dispatchCheckpointRepository.find("other")).isEqualTo(5);
+    }
+}
@@ -1,7 +1,6 @@
 package uk.gov.hmcts.reform.notificationservice.data;
 
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,9 +10,11 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
 import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -366,6 +367,213 @@ public class NotificationRepositoryTest {
             });
     }
 
+    @Test //TODO: FACT-2026
+    void should_insert_all_notifications_in_one_statement() {
+        // given
+        var first = createNewNotification("probate", ErrorCode.ERR_AV_FAILED);
+        var second = createNewNotification("divorce", ErrorCode.ERR_RESCAN_REQUIRED);
+
+        // when
+        var ids = notificationRepository.insertAll(List.of(first, second));
+
+        // then
+        assertThat(ids).hasSize(2).doesNotContainNull();
+        assertThat(notificationRepository.find(ids.get(0)))
+            .hasValueSatisfying(notification -> {
+                assertThat(notification.service).isEqualTo("probate");
+                assertThat(notification.messageId).isEqualTo(first.messageId);
+                assertThat(notification.status).isEqualTo(PENDING);
+            });
+        assertThat(notificationRepository.find(ids.get(1)))
+            .hasValueSatisfying(notification -> {
+                assertThat(notification.service).isEqualTo("divorce");
+                assertThat(notification.errorCode).isEqualTo(ErrorCode.ERR_RESCAN_REQUIRED);
+            });
+    }
+
+    @Test //TODO: FACT-2026
+    void should_skip_notifications_with_already_saved_message_id_when_inserting_all() {
+        // given
+        var saved = createNewNotification();
+        long savedId = notificationRepository.insert(saved);
+        var fresh = createNewNotification();
+
+        // when
+        var ids = notificationRepository.insertAll(List.of(saved, fresh, fresh));
+
+        // then
+        assertThat(ids).hasSize(3);
+        assertThat(ids.get(0)).isNull();
+        assertThat(ids.get(1)).isNotNull();
+        assertThat(ids.get(2)).isNull();
+        assertThat(notificationRepository.findByZipFileName("zip_file_name"))
+            .extracting(notification -> notification.id)
+            .containsExactlyInAnyOrder(savedId, ids.get(1));
+    }
+
+    @Test //TODO: FACT-2026
+    void should_insert_all_notifications_without_message_id_and_give_each_its_own_id() {
+        // given
+        var first = createNewNotification("probate", ErrorCode.ERR_AV_FAILED, "");
+        var second = createNewNotification("divorce", ErrorCode.ERR_AV_FAILED, "");
+
+        // when
+        var ids = notificationRepository.insertAll(List.of(first, second));
+
+        // then
+        assertThat(ids).hasSize(2).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(notificationRepository.find(ids.get(0)))
+            .hasValueSatisfying(notification -> assertThat(notification.service).isEqualTo("probate"));
+        assertThat(notificationRepository.find(ids.get(1)))
+            .hasValueSatisfying(notification -> assertThat(notification.service).isEqualTo("divorce"));
+    }
+
+    @Test //TODO: FACT-2026
+    void should_claim_given_notifications_without_waiting_for_send_delay_and_only_once() {
+        // given
+        long id = notificationRepository.insert(createNewNotification());
+        long otherId = notificationRepository.insert(createNewNotification());
+
+        // when
+        var claimed = notificationRepository.claimByIds(List.of(id), "owner");
+        var claimedAgain = notificationRepository.claimByIds(List.of(id), "other-owner");
+
+        // then
+        assertThat(claimed).extracting(notification -> notification.id).containsExactly(id);
+        assertThat(claimedAgain).isEmpty();
+        assertThat(notificationRepository.claimByIds(List.of(otherId), "other-owner"))
+            .extracting(notification -> notification.id)
+            .containsExactly(otherId);
+    }
+
+    @Test //TODO: FACT-2026
+    void should_return_pending_notifications_in_pages_ordered_by_id() {
+        // given
+        long id1 = notificationRepository.insert(createNewNotification());
+        long id2 = notificationRepository.insert(createNewNotification());
+        long id3 = notificationRepository.insert(createNewNotification());
+        jdbcTemplate.update(
+            "UPDATE notifications SET created_at = (now()::timestamp - interval '65 minutes')",
+            Collections.emptyMap()
+        );
+
+        // when
+        var firstPage = notificationRepository.findPendingPage("service", 0, 2);
+        var secondPage = notificationRepository.findPendingPage("service", firstPage.get(firstPage.size() - 1).id, 2);
+        var thirdPage = notificationRepository.findPendingPage("service", secondPage.get(secondPage.size() - 1).id, 2);
+
+        // then
+        assertThat(firstPage).extracting(notification -> notification.id).containsExactly(id1, id2);
+        assertThat(secondPage).extracting(notification -> notification.id).containsExactly(id3);
+        assertThat(thirdPage).isEmpty();
+    }
+
+    @Test //TODO: FACT-2026
+    void should_return_pending_notifications_of_given_service_only() {
+        // given
+        long idProbate = notificationRepository.insert(createNewNotification("probate", ErrorCode.ERR_AV_FAILED));
+        long idDivorce = notificationRepository.insert(createNewNotification("divorce", ErrorCode.ERR_AV_FAILED));
+        jdbcTemplate.update(
+            "UPDATE notifications SET created_at = (now()::timestamp - interval '65 minutes')",
+            Collections.emptyMap()
+        );
+
+        // when
+        var services = notificationRepository.findPendingServices();
+        var probatePage = notificationRepository.findPendingPage("probate", 0, 2);
+        var divorcePage = notificationRepository.findPendingPage("divorce", 0, 2);
+
+        // then
+        assertThat(services).containsExactly("divorce", "probate");
+        assertThat(probatePage).extracting(notification -> notification.id).containsExactly(idProbate);
+        assertThat(divorcePage).extracting(notification -> notification.id).containsExactly(idDivorce);
+    }
+
+    @Test //TODO: FACT-2026
+    void should_return_pending_notifications_by_priority_of_error_code_unless_lower_ones_have_waited_long_enough() {
+        // given
+        long idRescan = notificationRepository.insert(createNewNotification(ErrorCode.ERR_RESCAN_REQUIRED));
+        long idMetafile = notificationRepository.insert(createNewNotification(ErrorCode.ERR_METAFILE_INVALID));
+        long idAvFailed = notificationRepository.insert(createNewNotification(ErrorCode.ERR_AV_FAILED));
+        jdbcTemplate.update(
+            "UPDATE notifications SET created_at = (now()::timestamp - interval '65 minutes')",
+            Collections.emptyMap()
+        );
+
+        // when
+        var firstPage = notificationRepository.findPendingPage("service", 0, 2);
+        var secondPage = notificationRepository.findPendingPage("service", firstPage.get(firstPage.size() - 1).id, 2);
+
+        // then
+        assertThat(firstPage).extracting(notification -> notification.id).containsExactly(idAvFailed, idMetafile);
+        assertThat(secondPage).extracting(notification -> notification.id).containsExactly(idRescan);
+
+        // and when lowest priority notification has waited for longer than its levels are worth
+        jdbcTemplate.update(
+            "UPDATE notifications SET dispatch_rank = (now()::timestamp - interval '2 hours') WHERE id = :id",
+            Map.of("id", idRescan)
+        );
+
+        // then
+        assertThat(notificationRepository.claimPending("node-1"))
+            .extracting(notification -> notification.id)
+            .containsExactly(idRescan, idAvFailed);
+    }
+
+    @Test //TODO: FACT-2026
+    void should_not_return_claimed_notifications_to_other_owners_until_claim_expires() {
+        // given
+        long id = notificationRepository.insert(createNewNotification());
+        jdbcTemplate.update(
+            "UPDATE notifications SET created_at = (now()::timestamp - interval '65 minutes')",
+            Collections.emptyMap()
+        );
+
+        // when
+        var claimedByFirstNode = notificationRepository.claimPending("node-1");
+        var claimedBySecondNode = notificationRepository.claimPending("node-2");
+
+        // then
+        assertThat(claimedByFirstNode).extracting(notification -> notification.id).containsExactly(id);
+        assertThat(claimedBySecondNode).isEmpty();
+        assertThat(notificationRepository.findPendingServices()).isEmpty();
+
+        // and when lease expires
+        jdbcTemplate.update(
+            "UPDATE notifications SET claim_expires_at = (now()::timestamp - interval '1 minute')",
+            Collections.emptyMap()
+        );
+
+        // then
+        assertThat(notificationRepository.claimPending("node-2"))
+            .extracting(notification -> notification.id)
+            .containsExactly(id);
+    }
+
+    @Test //TODO: FACT-2026
+    void should_renew_only_claims_still_held_by_given_owner() {
+        // given
+        long id = notificationRepository.insert(createNewNotification());
+        long otherId = notificationRepository.insert(createNewNotification());
+        notificationRepository.claimByIds(List.of(id), "node-1");
+        notificationRepository.claimByIds(List.of(otherId), "node-2");
+        jdbcTemplate.update(
+            "UPDATE notifications SET claim_expires_at = (now()::timestamp + interval '1 second')",
+            Collections.emptyMap()
+        );
+
+        // when
+        int renewed = notificationRepository.renewClaims(List.of(id, otherId), "node-1");
+
+        // then
+        assertThat(renewed).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT claim_expires_at > (now()::timestamp + interval '1 minute') FROM notifications WHERE id = :id",
+            Map.of("id", id),
+            Boolean.class
+        )).isTrue();
+    }
+
     @Test //TODO: FACT-2026
     void should_return_flag_false_when_mark_as_sent_did_not_find_any_notification_to_update() {
         // when
@@ -428,6 +636,95 @@ public class NotificationRepositoryTest {
             });
     }
 
+    @Test //TODO: FACT-2026
+    void should_mark_all_given_notifications_as_sent_and_failed_in_batches() {
+        // given
+        long idSent1 = notificationRepository.insert(createNewNotification());
+        long idSent2 = notificationRepository.insert(createNewNotification());
+        long idFailed = notificationRepository.insert(createNewNotification());
+
+        // when
+        int sentCount = notificationRepository.markAllAsSent(
+            Map.of(idSent1, "confirmation1", idSent2, "confirmation2")
+        );
+        int failedCount = notificationRepository.markAllAsFailure(List.of(idFailed));
+
+        // then
+        assertThat(sentCount).isEqualTo(2);
+        assertThat(failedCount).isEqualTo(1);
+        assertThat(notificationRepository.find(idSent2))
+            .get()
+            .satisfies(notification -> {
+                assertThat(notification.confirmationId).isEqualTo("confirmation2");
+                assertThat(notification.status).isEqualTo(SENT);
+                assertThat(notification.processedAt).isNotNull();
+            });
+        assertThat(notificationRepository.find(idFailed))
+            .get()
+            .satisfies(notification -> {
+                assertThat(notification.status).isEqualTo(FAILED);
+                assertThat(notification.processedAt).isNotNull();
+            });
+    }
+
+    @Test //TODO: FACT-2026
+    void should_link_coalesced_notifications_to_sent_notification() {
+        // given
+        long idSent = notificationRepository.insert(createNewNotification());
+        long idDuplicate = notificationRepository.insert(createNewNotification());
+        notificationRepository.markAllAsSent(Map.of(idSent, "confirmation", idDuplicate, "confirmation"));
+
+        // when
+        int coalescedCount = notificationRepository.markAllAsCoalesced(Map.of(idDuplicate, idSent));
+
+        // then
+        assertThat(coalescedCount).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT coalesced_into FROM notifications WHERE id = :id",
+            Map.of("id", idDuplicate),
+            Long.class
+        )).isEqualTo(idSent);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT coalesced_into FROM notifications WHERE id = :id",
+            Map.of("id", idSent),
+            Long.class
+        )).isNull();
+    }
+
+    @Test //TODO: FACT-2026
+    void should_not_return_postponed_notifications_until_next_attempt_is_due() {
+        // given
+        long id = notificationRepository.insert(createNewNotification());
+        jdbcTemplate.update(
+            "UPDATE notifications SET created_at = (now()::timestamp - interval '65 minutes')",
+            Collections.emptyMap()
+        );
+        notificationRepository.claimPending("node-1");
+
+        // when
+        int postponedCount = notificationRepository.markAllAsPostponed(Map.of(id, Duration.ofMinutes(10)));
+
+        // then
+        assertThat(postponedCount).isEqualTo(1);
+        assertThat(notificationRepository.findPendingServices()).isEmpty();
+        assertThat(notificationRepository.claimPending("node-2")).isEmpty();
+
+        // and when next attempt is due
+        jdbcTemplate.update(
+            "UPDATE notifications SET next_attempt_at = (now()::timestamp - interval '1 minute')",
+            Collections.emptyMap()
+        );
+
+        // then
+        assertThat(notificationRepository.claimPending("node-2"))
+            .singleElement()
+            .satisfies(notification -> {
+                assertThat(notification.id).isEqualTo(id);
+                assertThat(notification.attemptCount).isEqualTo(1);
+                assertThat(notification.status).isEqualTo(PENDING);
+            });
+    }
+
     @Test
     void should_find_notification_by_date() {
         // given
@@ -515,7 +812,6 @@ public class NotificationRepositoryTest {
     }
 
     @Test
-    @Disabled //Message ID is no longer unique column. Dropped constraint in FACT-1963
     void should_throw_exception_for_duplicate_message_id() {
         // given
         String messageId = UUID.randomUUID().toString();
@@ -552,6 +848,29 @@ public class NotificationRepositoryTest {
             .hasMessage("Failed to save notification message for duplicate message id - " + messageId);
     }
 
+    @Test
+    void should_allow_saving_items_without_message_id() {
+        // given
+        final var newNotification = new NewNotification(
+            "zip_file_1.zip",
+            "po_box1",
+            "bulkscan",
+            "other_service",
+            "dcn1",
+            ErrorCode.ERR_FILE_LIMIT_EXCEEDED,
+            "error_description1",
+            "",
+            PRIMARY_CLIENT
+        );
+
+        // when
+        var first = notificationRepository.save(newNotification);
+        var second = notificationRepository.save(newNotification);
+
+        // then
+        assertThat(first.id).isNotEqualTo(second.id);
+    }
+
     @Test
     void should_not_allow_saving_item_with_null_message_id() {
         final var newNotification = new NewNotification(
@@ -602,15 +921,27 @@ public class NotificationRepositoryTest {
     }
 
     private NewNotification createNewNotification() {
+        return createNewNotification(ErrorCode.ERR_AV_FAILED);
+    }
+
+    private NewNotification createNewNotification(ErrorCode errorCode) {
+        return createNewNotification("service", errorCode);
+    }
+
+    private NewNotification createNewNotification(String service, ErrorCode errorCode) {
+        return createNewNotification(service, errorCode, UUID.randomUUID().toString());
+    }
+
+    private NewNotification createNewNotification(String service, ErrorCode errorCode, String messageId) {
         return new NewNotification(
             "zip_file_name",
             "po_box",
             "bulkscan",
-            "service",
+            service,
             "dcn",
-            ErrorCode.ERR_AV_FAILED,
+            errorCode,
             "error_description",
-            UUID.randomUUID().toString(),
+            messageId,
             PRIMARY_CLIENT
         );
     }
@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.notificationservice.service;
+
+import com.azure.core.util.BinaryData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a notification message the way the parser used to, decoding the body to a string first,
+ * with reading it straight from the bytes with the bound reader the parser uses now.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=NotificationMessageParserBenchmark} and compare the
+ * {@code gc.alloc.rate.norm} (bytes allocated per message) of the benchmarks.
+ * Parsed messages are not logged here, as logging costs the same either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationMessageParserBenchmark {
+
+    private static final String MESSAGE = "{"
+        + "\"zip_file_name\":\"1234567890123456_01-02-2024-10-11-12.zip\","
+        + "\"jurisdiction\":\"divorce\","
+        + "\"po_box\":\"12625\","
+        + "\"container\":\"divorce\","
+        + "\"document_control_number\":\"123456789012345600001\","
+        + "\"error_code\":\"ERR_METAFILE_INVALID\","
+        + "\"error_description\":\"Invalid metafile: document_control_number is missing\","
+        + "\"service\":\"bulkscan-processor\""
+        + "}";
+
+    private ObjectMapper objectMapper;
+    private ObjectReader notificationMsgReader;
+    private BinaryData serviceBusBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        notificationMsgReader = objectMapper.readerFor(NotificationMsg.class);
+        serviceBusBody = BinaryData.fromBytes(MESSAGE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public NotificationMsg serviceBusBodyDecodedToString() throws IOException {
+        return objectMapper.readValue(serviceBusBody.toString(), NotificationMsg.class);
+    }
+
+    @Benchmark
+    public NotificationMsg serviceBusBodyReadFromBytes() throws IOException {
+        return notificationMsgReader.readValue(serviceBusBody.toBytes());
+    }
+
+    @Benchmark
+    public NotificationMsg jmsTextWrappedInBinaryData() throws IOException {
+        return objectMapper.readValue(BinaryData.fromString(MESSAGE).toString(), NotificationMsg.class);
+    }
+
+    @Benchmark
+    public NotificationMsg jmsTextReadDirectly() throws IOException {
+        return notificationMsgReader.readValue(MESSAGE);
+    }
+}
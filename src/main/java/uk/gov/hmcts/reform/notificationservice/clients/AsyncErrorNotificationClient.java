@@ -0,0 +1,148 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Non-blocking alternative to {@link ErrorNotificationClient} and {@link ErrorNotificationClientSecondary}.
+ * Uses the JDK http client, which negotiates HTTP/2 with suppliers that support it and multiplexes concurrent
+ * calls over a single connection, falling back to HTTP/1.1 otherwise. No thread is held while a call is in flight.
+ * Error responses fail the returned future with the same {@link FeignException} the Feign clients would throw,
+ * so callers handle both the same way.
+ */
+@Component
+@ConditionalOnProperty(name = "clients.error-notifications.async.enabled", havingValue = "true")
+public class AsyncErrorNotificationClient {
+
+    private static final String PRIMARY_CLIENT = "primary";
+    private static final String NOTIFICATIONS_PATH = "/notifications";
+
+    // same timeouts as the Feign clients, see HttpConfiguration
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper;
+    private final SupplierEndpoint primary;
+    private final SupplierEndpoint secondary;
+
+    public AsyncErrorNotificationClient(
+        ObjectMapper objectMapper,
+        @Value("${clients.error-notifications.async.http-version:HTTP_2}") HttpClient.Version httpVersion,
+        @Value("${clients.error-notifications.url}") String primaryUrl,
+        @Value("${clients.error-notifications.username}") String primaryUsername,
+        @Value("${clients.error-notifications.password}") String primaryPassword,
+        @Value("${clients.error-notifications.secondary.url}") String secondaryUrl,
+        @Value("${clients.error-notifications.secondary.username}") String secondaryUsername,
+        @Value("${clients.error-notifications.secondary.password}") String secondaryPassword
+    ) {
+        this.objectMapper = objectMapper;
+        // separate http clients, so each supplier keeps its own connections
+        this.primary = new SupplierEndpoint(httpVersion, primaryUrl, primaryUsername, primaryPassword);
+        this.secondary = new SupplierEndpoint(httpVersion, secondaryUrl, secondaryUsername, secondaryPassword);
+    }
+
+    /**
+     * Sends the notification to the given client's supplier.
+     * @param client client the notification belongs to (primary/secondary)
+     * @param notification the notification to send
+     * @return future completed with the supplier's response, or failed with a {@link FeignException} for
+     *     an error response or an {@link IOException} when the supplier could not be reached
+     */
+    public CompletableFuture<ErrorNotificationResponse> notify(String client, ErrorNotificationRequest notification) {
+        SupplierEndpoint supplier = PRIMARY_CLIENT.equals(client) ? primary : secondary;
+        byte[] body = toJson(notification);
+
+        HttpRequest request = HttpRequest.newBuilder(supplier.notificationsUri)
+            .timeout(REQUEST_TIMEOUT)
+            .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+            .header(ACCEPT, APPLICATION_JSON_VALUE)
+            .header(AUTHORIZATION, supplier.authorization)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+
+        return supplier.httpClient
+            .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> toNotificationResponse(response, body));
+    }
+
+    private ErrorNotificationResponse toNotificationResponse(HttpResponse<byte[]> response, byte[] requestBody) {
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            try {
+                return objectMapper.readValue(response.body(), ErrorNotificationResponse.class);
+            } catch (IOException exc) {
+                throw new UncheckedIOException("Failed to read supplier response", exc);
+            }
+        }
+
+        throw FeignException.errorStatus("AsyncErrorNotificationClient#notify", toFeignResponse(response, requestBody));
+    }
+
+    private static Response toFeignResponse(HttpResponse<byte[]> response, byte[] requestBody) {
+        Request request = Request.create(
+            Request.HttpMethod.POST,
+            response.uri().toString(),
+            Map.of(),
+            requestBody,
+            StandardCharsets.UTF_8,
+            null
+        );
+
+        return Response.builder()
+            .status(response.statusCode())
+            .request(request)
+            .headers(new HashMap<String, Collection<String>>(response.headers().map()))
+            .body(response.body())
+            .build();
+    }
+
+    private byte[] toJson(ErrorNotificationRequest notification) {
+        try {
+            return objectMapper.writeValueAsBytes(notification);
+        } catch (JsonProcessingException exc) {
+            throw new IllegalArgumentException("Failed to serialise error notification", exc);
+        }
+    }
+
+    private static final class SupplierEndpoint {
+
+        final HttpClient httpClient;
+        final URI notificationsUri;
+        final String authorization;
+
+        SupplierEndpoint(HttpClient.Version httpVersion, String url, String username, String password) {
+            this.httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+            this.notificationsUri = URI.create(url + NOTIFICATIONS_PATH);
+            this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (username + ":" + password).getBytes(StandardCharsets.UTF_8)
+            );
+        }
+    }
+}
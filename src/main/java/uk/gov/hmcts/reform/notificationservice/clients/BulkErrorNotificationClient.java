@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends several error notifications to a supplier in a single call.
+ */
+public interface BulkErrorNotificationClient {
+
+    /**
+     * Sends the notifications to the given client's supplier.
+     * @param client client the notifications belong to (primary/secondary)
+     * @param notifications the notifications to send
+     * @return supplier's notification IDs by reference ID, for the notifications the supplier accepted
+     */
+    Map<String, String> notifyBulk(String client, List<ErrorNotificationRequest> notifications);
+}
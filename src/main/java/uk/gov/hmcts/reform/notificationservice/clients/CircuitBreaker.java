@@ -0,0 +1,98 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stops calls to a supplier after a number of consecutive failed calls.
+ * Once open, no calls are let through until the open duration has passed. After that a single probe call is let
+ * through (half-open): if it succeeds the breaker closes, otherwise it opens again for another open duration.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openUntil = Instant.MIN;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a call can be made now. Moves an open breaker to half-open when the open duration has passed,
+     * in which case only the first caller is let through as the probe.
+     * @return true if the call can be made
+     */
+    public synchronized boolean tryPass() {
+        if (state == State.OPEN && !clock.instant().isBefore(openUntil)) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+            case OPEN -> false;
+        };
+    }
+
+    /**
+     * Checks whether a call would be let through, without claiming the half-open probe.
+     * @return false if the breaker is open and the open duration has not passed yet, or if it is half-open and
+     *     the probe is already in flight
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> !probeInFlight;
+            case OPEN -> !clock.instant().isBefore(openUntil);
+        };
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a call which tells nothing about the supplier's health, e.g. one which failed before reaching it.
+     * Leaves the state as is, but lets the next caller through as the probe if the breaker is half-open.
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = clock.instant().plus(openDuration);
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
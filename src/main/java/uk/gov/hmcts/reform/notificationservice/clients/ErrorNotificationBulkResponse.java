@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class ErrorNotificationBulkResponse {
+
+    private final List<Item> notifications;
+
+    public ErrorNotificationBulkResponse(@JsonProperty("notifications") List<Item> notifications) {
+        this.notifications = notifications;
+    }
+
+    public List<Item> getNotifications() {
+        return notifications;
+    }
+
+    /**
+     * Result of a single notification of the bulk request. Notification ID is missing when the supplier
+     * did not accept the notification.
+     */
+    public static class Item {
+
+        private final String referenceId;
+        private final String notificationId;
+
+        @JsonCreator
+        public Item(
+            @JsonProperty("reference_id") String referenceId,
+            @JsonProperty("notification_id") String notificationId
+        ) {
+            this.referenceId = referenceId;
+            this.notificationId = notificationId;
+        }
+
+        public String getReferenceId() {
+            return referenceId;
+        }
+
+        public String getNotificationId() {
+            return notificationId;
+        }
+    }
+}
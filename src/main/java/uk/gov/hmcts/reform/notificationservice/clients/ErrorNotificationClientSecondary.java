@@ -4,6 +4,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @FeignClient(
@@ -18,4 +20,10 @@ public interface ErrorNotificationClientSecondary {
         produces = APPLICATION_JSON_VALUE
     )
     ErrorNotificationResponse notify(@RequestBody ErrorNotificationRequest notification);
+
+    @PostMapping(value = "/notifications/bulk",
+        consumes = APPLICATION_JSON_VALUE,
+        produces = APPLICATION_JSON_VALUE
+    )
+    ErrorNotificationBulkResponse notifyBulk(@RequestBody List<ErrorNotificationRequest> notifications);
 }
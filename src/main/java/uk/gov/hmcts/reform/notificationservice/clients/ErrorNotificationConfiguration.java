@@ -1,11 +1,13 @@
 package uk.gov.hmcts.reform.notificationservice.clients;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
 import feign.auth.BasicAuthRequestInterceptor;
 import feign.codec.Decoder;
 import feign.jackson.JacksonDecoder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import uk.gov.hmcts.reform.notificationservice.config.HttpConfiguration;
 
 import java.nio.charset.StandardCharsets;
 
@@ -16,6 +18,15 @@ public class ErrorNotificationConfiguration {
         return new JacksonDecoder(objectMapper);
     }
 
+    @Bean
+    public Client supplierFeignClient(
+        HttpConfiguration httpConfiguration,
+        @Value("${clients.error-notifications.max-connections:20}") int maxConnections,
+        @Value("${clients.error-notifications.max-connections-per-route:20}") int maxPerRoute
+    ) {
+        return httpConfiguration.createSupplierFeignClient("primary", maxConnections, maxPerRoute);
+    }
+
     @Bean
     public BasicAuthRequestInterceptor basicAuthRequestInterceptor(
         @Value("${clients.error-notifications.username}") String username,
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Stands in for the suppliers' bulk endpoint when running locally, so bulk submission can be tried out
+ * without a real supplier. Accepts every notification and makes up a notification ID for it.
+ * Refuses to start outside the dev profile, as notifications it accepts are marked as sent without reaching a supplier.
+ */
+@Component
+@ConditionalOnProperty(name = "clients.error-notifications.bulk.mode", havingValue = "stub")
+public class LocalBulkErrorNotificationClient implements BulkErrorNotificationClient {
+
+    private static final Logger log = getLogger(LocalBulkErrorNotificationClient.class);
+
+    public LocalBulkErrorNotificationClient(Environment environment) {
+        if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException(
+                "Stubbed bulk submission can only be used with the dev profile. Set bulk mode to off or supplier"
+            );
+        }
+    }
+
+    @Override
+    public Map<String, String> notifyBulk(String client, List<ErrorNotificationRequest> notifications) {
+        log.info("Stubbed bulk call to {} supplier. Number of notifications: {}", client, notifications.size());
+
+        Map<String, String> notificationIds = new LinkedHashMap<>();
+        for (var notification : notifications) {
+            notificationIds.put(notification.referenceId, "stub-" + UUID.randomUUID());
+        }
+
+        return notificationIds;
+    }
+}
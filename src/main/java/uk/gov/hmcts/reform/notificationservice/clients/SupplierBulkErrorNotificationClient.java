@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends notifications to the bulk endpoint of the suppliers.
+ */
+@Component
+@ConditionalOnProperty(name = "clients.error-notifications.bulk.mode", havingValue = "supplier")
+public class SupplierBulkErrorNotificationClient implements BulkErrorNotificationClient {
+
+    private static final String PRIMARY_CLIENT = "primary";
+
+    private final ErrorNotificationClient primaryClient;
+    private final ErrorNotificationClientSecondary secondaryClient;
+
+    public SupplierBulkErrorNotificationClient(
+        ErrorNotificationClient primaryClient,
+        ErrorNotificationClientSecondary secondaryClient
+    ) {
+        this.primaryClient = primaryClient;
+        this.secondaryClient = secondaryClient;
+    }
+
+    @Override
+    public Map<String, String> notifyBulk(String client, List<ErrorNotificationRequest> notifications) {
+        ErrorNotificationBulkResponse response = PRIMARY_CLIENT.equals(client)
+            ? primaryClient.notifyBulk(notifications)
+            : secondaryClient.notifyBulk(notifications);
+
+        Map<String, String> notificationIds = new HashMap<>();
+        for (var item : response.getNotifications()) {
+            if (item.getReferenceId() != null && item.getNotificationId() != null) {
+                notificationIds.put(item.getReferenceId(), item.getNotificationId());
+            }
+        }
+
+        return notificationIds;
+    }
+}
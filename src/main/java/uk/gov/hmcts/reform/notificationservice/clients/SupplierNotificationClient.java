@@ -0,0 +1,277 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.exception.ConcurrencyLimitExceededException;
+import uk.gov.hmcts.reform.notificationservice.exception.SupplierUnavailableException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Sends error notifications to the primary or secondary supplier.
+ * Calls to each supplier go through their own {@link AimdConcurrencyLimiter}, which adapts the number of concurrent
+ * calls to what the supplier can currently take, and their own {@link CircuitBreaker}, which stops calling a supplier
+ * that keeps failing until it has had time to recover. The current limits and breaker states are published as metrics.
+ * When {@link AsyncErrorNotificationClient} is enabled, {@link #notifyAsync} sends without blocking a thread per call.
+ * When a {@link BulkErrorNotificationClient} is enabled, {@link #notifyBulk} sends several notifications in one call.
+ */
+@Component
+public class SupplierNotificationClient {
+
+    private static final String PRIMARY_CLIENT = "primary";
+    private static final String SECONDARY_CLIENT = "secondary";
+
+    private static final int MIN_LIMIT = 1;
+
+    private final ErrorNotificationClient primaryClient;
+    private final ErrorNotificationClientSecondary secondaryClient;
+    private final Optional<AsyncErrorNotificationClient> asyncClient;
+    private final Optional<BulkErrorNotificationClient> bulkClient;
+
+    private final AimdConcurrencyLimiter primaryLimiter;
+    private final AimdConcurrencyLimiter secondaryLimiter;
+
+    private final CircuitBreaker primaryBreaker;
+    private final CircuitBreaker secondaryBreaker;
+
+    private final Duration acquireTimeout;
+
+    public SupplierNotificationClient(
+        ErrorNotificationClient primaryClient,
+        ErrorNotificationClientSecondary secondaryClient,
+        Optional<AsyncErrorNotificationClient> asyncClient,
+        Optional<BulkErrorNotificationClient> bulkClient,
+        MeterRegistry meterRegistry,
+        @Value("${clients.error-notifications.concurrency.initial-limit:4}") int initialLimit,
+        @Value("${clients.error-notifications.max-connections:20}") int primaryMaxLimit,
+        @Value("${clients.error-notifications.secondary.max-connections:10}") int secondaryMaxLimit,
+        @Value("${clients.error-notifications.concurrency.backoff-ratio:0.5}") double backoffRatio,
+        @Value("${clients.error-notifications.concurrency.latency-threshold:PT5S}") Duration latencyThreshold,
+        @Value("${clients.error-notifications.concurrency.acquire-timeout:PT30S}") Duration acquireTimeout,
+        @Value("${clients.error-notifications.circuit-breaker.failure-threshold:5}") int failureThreshold,
+        @Value("${clients.error-notifications.circuit-breaker.open-duration:PT1M}") Duration openDuration
+    ) {
+        this.primaryClient = primaryClient;
+        this.secondaryClient = secondaryClient;
+        this.asyncClient = asyncClient;
+        this.bulkClient = bulkClient;
+        this.acquireTimeout = acquireTimeout;
+        this.primaryLimiter = new AimdConcurrencyLimiter(
+            initialLimit, MIN_LIMIT, primaryMaxLimit, backoffRatio, latencyThreshold
+        );
+        this.secondaryLimiter = new AimdConcurrencyLimiter(
+            initialLimit, MIN_LIMIT, secondaryMaxLimit, backoffRatio, latencyThreshold
+        );
+
+        this.primaryBreaker = new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+        this.secondaryBreaker = new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+
+        registerMetrics(meterRegistry, PRIMARY_CLIENT, primaryLimiter, primaryBreaker);
+        registerMetrics(meterRegistry, SECONDARY_CLIENT, secondaryLimiter, secondaryBreaker);
+    }
+
+    /**
+     * Sends the notification to the given client's supplier, waiting for a free permit first.
+     * @param client client the notification belongs to (primary/secondary)
+     * @param request the notification to send
+     * @return the supplier's response
+     * @throws ConcurrencyLimitExceededException if no permit became available in time
+     * @throws SupplierUnavailableException if the client's circuit breaker is open
+     */
+    public ErrorNotificationResponse notify(String client, ErrorNotificationRequest request) {
+        return call(client, () -> PRIMARY_CLIENT.equals(client)
+            ? primaryClient.notify(request)
+            : secondaryClient.notify(request)
+        );
+    }
+
+    /**
+     * Sends the notifications to the given client's supplier in a single call. The call takes a single permit
+     * and counts as a single call for the circuit breaker.
+     * @param client client the notifications belong to (primary/secondary)
+     * @param requests the notifications to send
+     * @return supplier's notification IDs by reference ID, for the notifications the supplier accepted
+     * @throws IllegalStateException if bulk submission is not enabled
+     * @throws ConcurrencyLimitExceededException if no permit became available in time
+     * @throws SupplierUnavailableException if the client's circuit breaker is open
+     */
+    public Map<String, String> notifyBulk(String client, List<ErrorNotificationRequest> requests) {
+        BulkErrorNotificationClient bulk = bulkClient
+            .orElseThrow(() -> new IllegalStateException("Bulk submission to suppliers is not enabled"));
+
+        return call(client, () -> bulk.notifyBulk(client, requests));
+    }
+
+    public boolean isBulkEnabled() {
+        return bulkClient.isPresent();
+    }
+
+    /**
+     * Sends the notification to the given client's supplier without holding the calling thread while the call is
+     * in flight. The calling thread still waits for a free permit, up to the acquire timeout, so the concurrency
+     * limit keeps applying. Once the supplier's limit is reached each dispatch worker calling this is tied up waiting
+     * for a permit, which is what stops a lane from starting more calls than the supplier is allowed.
+     * Falls back to the blocking call when the non-blocking client is not enabled.
+     * @param client client the notification belongs to (primary/secondary)
+     * @param request the notification to send
+     * @return future completed with the supplier's response, or failed with the same exceptions
+     *     {@link #notify(String, ErrorNotificationRequest)} throws
+     */
+    public CompletableFuture<ErrorNotificationResponse> notifyAsync(String client, ErrorNotificationRequest request) {
+        if (asyncClient.isEmpty()) {
+            try {
+                return CompletableFuture.completedFuture(notify(client, request));
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+
+        AimdConcurrencyLimiter limiter = limiterFor(client);
+        CircuitBreaker breaker = breakerFor(client);
+        try {
+            acquire(client, limiter);
+        } catch (ConcurrencyLimitExceededException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        if (!breaker.tryPass()) {
+            limiter.onIgnored();
+            return CompletableFuture.failedFuture(new SupplierUnavailableException(client));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<ErrorNotificationResponse> call;
+        try {
+            call = asyncClient.get().notify(client, request);
+        } catch (RuntimeException exception) {
+            // call never started, so the outcome is recorded here and nowhere else
+            recordOutcome(limiter, breaker, start, exception);
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        return call.whenComplete((response, failure) -> recordOutcome(limiter, breaker, start, unwrap(failure)));
+    }
+
+    /**
+     * Checks whether calls to the given client's supplier are currently let through by its circuit breaker.
+     * @param client client to check (primary/secondary)
+     * @return false if the circuit breaker is open
+     */
+    public boolean isAvailable(String client) {
+        return breakerFor(client).isCallPermitted();
+    }
+
+    public CircuitBreaker.State getCircuitState(String client) {
+        return breakerFor(client).getState();
+    }
+
+    private <T> T call(String client, Supplier<T> supplierCall) {
+        AimdConcurrencyLimiter limiter = limiterFor(client);
+        CircuitBreaker breaker = breakerFor(client);
+        acquire(client, limiter);
+
+        if (!breaker.tryPass()) {
+            limiter.onIgnored();
+            throw new SupplierUnavailableException(client);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T response = supplierCall.get();
+
+            recordOutcome(limiter, breaker, start, null);
+            return response;
+        } catch (RuntimeException exception) {
+            recordOutcome(limiter, breaker, start, exception);
+            throw exception;
+        }
+    }
+
+    private AimdConcurrencyLimiter limiterFor(String client) {
+        return PRIMARY_CLIENT.equals(client) ? primaryLimiter : secondaryLimiter;
+    }
+
+    private CircuitBreaker breakerFor(String client) {
+        return PRIMARY_CLIENT.equals(client) ? primaryBreaker : secondaryBreaker;
+    }
+
+    private void acquire(String client, AimdConcurrencyLimiter limiter) {
+        try {
+            if (!limiter.tryAcquire(acquireTimeout)) {
+                throw new ConcurrencyLimitExceededException(
+                    String.format("Too many concurrent calls to %s supplier. Limit: %s", client, limiter.getLimit())
+                );
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException("Interrupted waiting to call " + client + " supplier");
+        }
+    }
+
+    private static void recordOutcome(
+        AimdConcurrencyLimiter limiter,
+        CircuitBreaker breaker,
+        long start,
+        Throwable failure
+    ) {
+        if (failure == null) {
+            limiter.onSuccess(System.nanoTime() - start);
+            breaker.onSuccess();
+        } else if (isOverload(failure)) {
+            limiter.onDropped();
+            breaker.onFailure();
+        } else if (failure instanceof FeignException exception && exception.status() > 0) {
+            // supplier responded, so it is up even though it did not accept the notification
+            limiter.onIgnored();
+            breaker.onSuccess();
+        } else {
+            // failed before reaching the supplier, so it tells nothing about whether the supplier is up
+            limiter.onIgnored();
+            breaker.onIgnored();
+        }
+    }
+
+    private static boolean isOverload(Throwable failure) {
+        // timeouts and connection errors, 429 Too Many Requests and 5xx
+        return failure instanceof RetryableException
+            || failure instanceof IOException
+            || failure instanceof FeignException.TooManyRequests
+            || failure instanceof FeignException.FeignServerException;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static void registerMetrics(
+        MeterRegistry meterRegistry,
+        String client,
+        AimdConcurrencyLimiter limiter,
+        CircuitBreaker breaker
+    ) {
+        Gauge.builder("notification.supplier.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+            .description("Current number of concurrent calls allowed to the supplier")
+            .tag("client", client)
+            .register(meterRegistry);
+        Gauge.builder("notification.supplier.concurrency.in-flight", limiter, AimdConcurrencyLimiter::getInFlight)
+            .description("Number of calls to the supplier currently in flight")
+            .tag("client", client)
+            .register(meterRegistry);
+        Gauge.builder("notification.supplier.circuit.state", breaker, b -> b.getState().ordinal())
+            .description("State of the supplier's circuit breaker: 0 - closed, 1 - half open, 2 - open")
+            .tag("client", client)
+            .register(meterRegistry);
+    }
+}
@@ -2,18 +2,58 @@ package uk.gov.hmcts.reform.notificationservice.config;
 
 import feign.Client;
 import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.apache.hc.core5.util.Timeout;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
 @Configuration
 public class HttpConfiguration {
 
+    private final Duration validateAfterInactivity;
+    private final Duration maxKeepAlive;
+    private final Duration maxIdleTime;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> supplierHttpClients = new CopyOnWriteArrayList<>();
+
+    public HttpConfiguration(
+        @Value("${clients.error-notifications.connection-pool.validate-after-inactivity:PT2S}")
+        Duration validateAfterInactivity,
+        @Value("${clients.error-notifications.connection-pool.keep-alive:PT1M}") Duration maxKeepAlive,
+        @Value("${clients.error-notifications.connection-pool.max-idle-time:PT30S}") Duration maxIdleTime,
+        MeterRegistry meterRegistry
+    ) {
+        this.validateAfterInactivity = validateAfterInactivity;
+        this.maxKeepAlive = maxKeepAlive;
+        this.maxIdleTime = maxIdleTime;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public Client getFeignHttpClient() {
         return new ApacheHttpClient(getHttpClient());
@@ -42,17 +82,122 @@ public class HttpConfiguration {
             .build();
     }
 
-    private HttpClient getHttpClient() {
-        RequestConfig config = RequestConfig.custom()
-            .setConnectTimeout(30000)
-            .setConnectionRequestTimeout(30000)
-            .setSocketTimeout(60000)
+    /**
+     * Creates a Feign http client for a single supplier with its own pool of connections, so a slow supplier
+     * cannot take connections away from the other one. Connections are kept alive for as long as the supplier
+     * allows, up to the configured maximum, and a background thread closes expired connections and connections
+     * idle for longer than the configured time. Pooled connections idle for a while are checked before being
+     * reused, so a connection the supplier has already closed is not handed out.
+     * @param client client the connections belong to (primary/secondary)
+     * @param maxConnections maximum number of connections to the supplier
+     * @param maxPerRoute maximum number of connections per route to the supplier
+     * @return Feign http client for the supplier
+     */
+    public Client createSupplierFeignClient(String client, int maxConnections, int maxPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager =
+            createSupplierConnectionManager(maxConnections, maxPerRoute, validateAfterInactivity);
+        registerConnectionPoolMetrics(meterRegistry, client, connectionManager);
+
+        CloseableHttpClient httpClient = HttpClientBuilder
+            .create()
+            .useSystemProperties()
+            .setDefaultRequestConfig(getRequestConfig())
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy(keepAliveStrategy(maxKeepAlive))
+            .evictExpiredConnections()
+            .evictIdleConnections(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
             .build();
+        supplierHttpClients.add(httpClient);
+
+        return new ApacheHttpClient(httpClient);
+    }
+
+    // also stops the background threads closing the suppliers' idle connections
+    @PreDestroy
+    public void closeSupplierHttpClients() throws IOException {
+        for (CloseableHttpClient httpClient : supplierHttpClients) {
+            httpClient.close();
+        }
+    }
+
+    static PoolingHttpClientConnectionManager createSupplierConnectionManager(
+        int maxTotal,
+        int maxPerRoute,
+        Duration validateAfterInactivity
+    ) {
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+            .build();
+
+        var connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
 
+        return connectionManager;
+    }
+
+    /**
+     * Publishes the usage of a supplier's connection pool as metrics.
+     * @param meterRegistry registry to publish the metrics to
+     * @param client client the connection pool belongs to (primary/secondary)
+     * @param connectionManager the supplier's connection pool
+     */
+    static void registerConnectionPoolMetrics(
+        MeterRegistry meterRegistry,
+        String client,
+        PoolingHttpClientConnectionManager connectionManager
+    ) {
+        registerPoolGauge(meterRegistry, client, connectionManager, "leased", PoolStats::getLeased,
+                          "Number of connections to the supplier currently in use");
+        registerPoolGauge(meterRegistry, client, connectionManager, "pending", PoolStats::getPending,
+                          "Number of calls to the supplier waiting for a connection");
+        registerPoolGauge(meterRegistry, client, connectionManager, "available", PoolStats::getAvailable,
+                          "Number of idle connections to the supplier kept alive in the pool");
+        registerPoolGauge(meterRegistry, client, connectionManager, "max", PoolStats::getMax,
+                          "Maximum number of connections to the supplier");
+    }
+
+    // honours the supplier's Keep-Alive header, but never keeps a connection for longer than the given maximum
+    static ConnectionKeepAliveStrategy keepAliveStrategy(Duration maxKeepAlive) {
+        long maxKeepAliveMillis = maxKeepAlive.toMillis();
+
+        return (response, context) -> {
+            long supplierKeepAlive =
+                DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return supplierKeepAlive > 0 ? Math.min(supplierKeepAlive, maxKeepAliveMillis) : maxKeepAliveMillis;
+        };
+    }
+
+    private static void registerPoolGauge(
+        MeterRegistry meterRegistry,
+        String client,
+        PoolingHttpClientConnectionManager connectionManager,
+        String name,
+        ToIntFunction<PoolStats> stat,
+        String description
+    ) {
+        Gauge.builder("notification.supplier.connections." + name, connectionManager,
+                      cm -> stat.applyAsInt(cm.getTotalStats()))
+            .description(description)
+            .tag("client", client)
+            .register(meterRegistry);
+    }
+
+    private HttpClient getHttpClient() {
         return HttpClientBuilder
             .create()
             .useSystemProperties()
-            .setDefaultRequestConfig(config)
+            .setDefaultRequestConfig(getRequestConfig())
+            .build();
+    }
+
+    private static RequestConfig getRequestConfig() {
+        return RequestConfig.custom()
+            .setConnectTimeout(30000)
+            .setConnectionRequestTimeout(30000)
+            .setSocketTimeout(60000)
             .build();
     }
 }
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.notificationservice.config;
+
+import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Receiver for the batch ingest mode, used instead of the processor client of {@link QueueClientConfig}.
+ */
+//TODO: FACT-2026 - whole class can go
+@Configuration
+@ConditionalOnExpression("!${jms.enabled} && ${queue.notifications.batch.enabled:false}")
+public class QueueBatchReceiverConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "queue.notifications.access-key")
+    public ServiceBusReceiverClient notificationsBatchReceiver(
+        @Value("${queue.notifications.access-key}") String accessKey,
+        @Value("${queue.notifications.access-key-name}") String accessKeyName,
+        @Value("${queue.notifications.name}") String queueName,
+        @Value("${queue.notifications.namespace}") String namespace,
+        @Value("${queue.notifications.prefetch-count:8}") int prefetchCount,
+        @Value("${queue.notifications.max-auto-lock-renew-duration:PT5M}") Duration maxAutoLockRenewDuration
+    ) {
+        return new ServiceBusClientBuilder()
+            .connectionString(QueueClientConfig.connectionString(namespace, accessKeyName, accessKey))
+            .receiver()
+            .queueName(queueName)
+            .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
+            .prefetchCount(prefetchCount)
+            .maxAutoLockRenewDuration(maxAutoLockRenewDuration)
+            .buildClient();
+    }
+}
@@ -12,9 +12,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import uk.gov.hmcts.reform.notificationservice.service.NotificationMessageProcessor;
 
+import java.time.Duration;
+
 //TODO: FACT-2026 - whole class can go
 @Configuration
-@ConditionalOnExpression("!${jms.enabled}")
+@ConditionalOnExpression("!${jms.enabled} && !${queue.notifications.batch.enabled:false}")
 public class QueueClientConfig {
 
     private static final Logger log = LoggerFactory.getLogger(QueueClientConfig.class);
@@ -26,25 +28,32 @@ public class QueueClientConfig {
         @Value("${queue.notifications.access-key-name}") String accessKeyName,
         @Value("${queue.notifications.name}") String queueName,
         @Value("${queue.notifications.namespace}") String namespace,
+        @Value("${queue.notifications.max-concurrent-calls:4}") int maxConcurrentCalls,
+        @Value("${queue.notifications.prefetch-count:8}") int prefetchCount,
+        @Value("${queue.notifications.max-auto-lock-renew-duration:PT5M}") Duration maxAutoLockRenewDuration,
         NotificationMessageProcessor notificationMessageProcessor
     ) {
-
-        String connectionString  = String.format(
-            "Endpoint=sb://%s.servicebus.windows.net;SharedAccessKeyName=%s;SharedAccessKey=%s;",
-            namespace,
-            accessKeyName,
-            accessKey
-        );
-
         return new ServiceBusClientBuilder()
-            .connectionString(connectionString)
+            .connectionString(connectionString(namespace, accessKeyName, accessKey))
             .processor()
             .queueName(queueName)
             .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
             .disableAutoComplete()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .prefetchCount(prefetchCount)
+            .maxAutoLockRenewDuration(maxAutoLockRenewDuration)
             .processMessage(notificationMessageProcessor::processNextMessage)
             .processError(c -> log.error("Notification queue handle error {}", c.getErrorSource(), c.getException()))
             .buildProcessorClient();
     }
 
+    static String connectionString(String namespace, String accessKeyName, String accessKey) {
+        return String.format(
+            "Endpoint=sb://%s.servicebus.windows.net;SharedAccessKeyName=%s;SharedAccessKey=%s;",
+            namespace,
+            accessKeyName,
+            accessKey
+        );
+    }
+
 }
@@ -46,6 +46,20 @@ public class JmsConfiguration {
     @Value("${jms.amqp-connection-string-template}")
     public String amqpConnectionStringTemplate;
 
+    @Value("${jms.min-consumers:1}")
+    private int minConsumers;
+
+    @Value("${jms.max-consumers:4}")
+    private int maxConsumers;
+
+    // cache the consumer so each listener thread keeps its own session and consumer between messages
+    @Value("${jms.cache-level:CACHE_CONSUMER}")
+    private String cacheLevel;
+
+    // low prefetch, so messages are spread between the consumers instead of piling up on the first one
+    @Value("${jms.prefetch:10}")
+    private int prefetch;
+
     @Primary
     @Bean
     public JmsProperties jmsProperties() {
@@ -62,8 +76,11 @@ public class JmsConfiguration {
         RedeliveryPolicy redeliveryPolicy = new RedeliveryPolicy();
         redeliveryPolicy.setMaximumRedeliveries(3);
         activeMQConnectionFactory.setRedeliveryPolicy(redeliveryPolicy);
+        activeMQConnectionFactory.getPrefetchPolicy().setQueuePrefetch(prefetch);
         activeMQConnectionFactory.setClientID(clientId);
-        return new CachingConnectionFactory(activeMQConnectionFactory);
+        CachingConnectionFactory cachingConnectionFactory = new CachingConnectionFactory(activeMQConnectionFactory);
+        cachingConnectionFactory.setSessionCacheSize(maxConsumers);
+        return cachingConnectionFactory;
     }
 
     // for if we need to write a message back to a specific queue
@@ -87,6 +104,8 @@ public class JmsConfiguration {
         factory.setSessionAcknowledgeMode(Session.SESSION_TRANSACTED);
         factory.setMessageConverter(new CustomMessageConverter());
         factory.setPubSubDomain(jmsProperties.isPubSubDomain());
+        factory.setConcurrency(minConsumers + "-" + maxConsumers);
+        factory.setCacheLevelName(cacheLevel);
         return factory;
     }
 
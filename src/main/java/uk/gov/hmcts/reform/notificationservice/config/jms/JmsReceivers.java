@@ -10,6 +10,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.jms.annotation.JmsListener;
 import uk.gov.hmcts.reform.notificationservice.service.JmsNotificationMessageProcessor;
 
+/**
+ * Receives notification messages from the JMS queue.
+ */
 //TODO: FACT-2026 - whole class can go
 @Configuration()
 @ConditionalOnProperty(name = "jms.enabled", havingValue = "true")
@@ -29,8 +32,8 @@ public class JmsReceivers {
     public void receiveMessage(ActiveMQMessage message) throws JMSException {
         String messageBody = ((ActiveMQTextMessage) message).getText();
         log.info("Received Message {} on Service Bus. Delivery count is: {}",
-                 messageBody, message.getStringProperty("JMSXDeliveryCount"));
-        log.info(messageBody);
+                 message.getJMSMessageID(), message.getStringProperty("JMSXDeliveryCount"));
+        log.debug("Message {} body: {}", message.getJMSMessageID(), messageBody);
         jmsNotificationMessageProcessor.processNextMessage(message, messageBody);
         log.info("Message finished/completed");
     }
@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Stores how far a dispatch run got through the pending notifications, so that a run which had to stop early
+ * can be resumed by the next one, on whichever node it runs.
+ */
+//TODO: FACT-2026 - whole class can go
+@Repository
+public class DispatchCheckpointRepository {
+
+    private static final String NAME = "name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DispatchCheckpointRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds the ID of the last notification handled by the given dispatch before it stopped.
+     * @param name name of the dispatch
+     * @return ID of the last handled notification, or 0 if the dispatch should start from the beginning
+     */
+    public long find(String name) {
+        List<Long> lastIds = jdbcTemplate.queryForList(
+            "SELECT last_id FROM dispatch_checkpoints WHERE name = :name",
+            new MapSqlParameterSource(NAME, name),
+            Long.class
+        );
+
+        return lastIds.isEmpty() ? 0 : lastIds.get(0);
+    }
+
+    public void save(String name, long lastId) {
+        jdbcTemplate.update(
+            "INSERT INTO dispatch_checkpoints (name, last_id, updated_at) "
+                + "VALUES (:name, :lastId, now()) "
+                + "ON CONFLICT (name) DO UPDATE "
+                + "SET last_id = EXCLUDED.last_id, "
+                + "  updated_at = EXCLUDED.updated_at",
+            new MapSqlParameterSource()
+                .addValue(NAME, name)
+                .addValue("lastId", lastId)
+        );
+    }
+
+    public void clear(String name) {
+        jdbcTemplate.update(
+            "DELETE FROM dispatch_checkpoints WHERE name = :name",
+            new MapSqlParameterSource(NAME, name)
+        );
+    }
+}
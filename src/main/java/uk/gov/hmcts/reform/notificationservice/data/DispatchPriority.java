@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decides how soon pending notifications are dispatched compared to each other, based on their error code.
+ * Each error code has a priority level, 0 being the highest. A notification is ranked as if it had been created
+ * one age boost later for every level below the highest. It is therefore sent ahead of lower level notifications
+ * of similar age, but a stream of higher level notifications can only hold it back for a bounded time.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class DispatchPriority {
+
+    private final Map<ErrorCode, Integer> levels = new EnumMap<>(ErrorCode.class);
+    private final int defaultLevel;
+    private final Duration ageBoost;
+
+    /**
+     * Reads the priority levels from configuration.
+     * @param levels comma separated priority levels by error code, e.g. ERR_AV_FAILED:0,ERR_RESCAN_REQUIRED:2
+     * @param defaultLevel priority level of error codes which are not listed
+     * @param ageBoost waiting time a notification is worth per priority level
+     */
+    public DispatchPriority(
+        @Value("${scheduling.task.pending-notifications.priority.levels:}") String levels,
+        @Value("${scheduling.task.pending-notifications.priority.default-level:1}") int defaultLevel,
+        @Value("${scheduling.task.pending-notifications.priority.age-boost:PT30M}") Duration ageBoost
+    ) {
+        Arrays.stream(levels.split(","))
+            .map(String::trim)
+            .filter(level -> !level.isEmpty())
+            .forEach(this::addLevel);
+        this.defaultLevel = defaultLevel;
+        this.ageBoost = ageBoost;
+    }
+
+    /**
+     * Calculates how much later than its creation a notification with the given error code is ranked.
+     * @param errorCode error code of the notification
+     * @return delay to add to the creation time
+     */
+    public Duration rankOffset(ErrorCode errorCode) {
+        return ageBoost.multipliedBy(levels.getOrDefault(errorCode, defaultLevel));
+    }
+
+    private void addLevel(String level) {
+        String[] parts = level.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid dispatch priority level: " + level);
+        }
+
+        int value = Integer.parseInt(parts[1].trim());
+        if (value < 0) {
+            throw new IllegalArgumentException("Dispatch priority level must not be negative: " + level);
+        }
+
+        levels.put(ErrorCode.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), value);
+    }
+}
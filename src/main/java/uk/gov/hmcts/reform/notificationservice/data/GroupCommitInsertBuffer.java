@@ -0,0 +1,237 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Collects notifications inserted by concurrent message handlers and saves them together, so that a burst of messages
+ * costs one insert and one commit per group instead of one per message.
+ * A group is saved once it reaches the max batch size, or once its first notification has waited for the max delay.
+ * Each caller is blocked until its group is saved and gets back its own notification ID. If the group insert fails,
+ * the notifications of the group are inserted one by one, so each caller gets back its own failure only.
+ * On shutdown new notifications are inserted straight away, while the ones already queued are still saved together
+ * before the buffer reports it has stopped.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+@ConditionalOnProperty(name = "queue.notifications.group-commit.enabled", havingValue = "true")
+public class GroupCommitInsertBuffer implements SmartLifecycle {
+
+    private static final Logger log = getLogger(GroupCommitInsertBuffer.class);
+
+    // callers give up waiting for a group which is not saved in time, e.g. when the app is shutting down
+    private static final Duration RESULT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_TIMEOUT_MILLIS = 1_000;
+
+    private final NotificationRepository notificationRepository;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+    // makes checking whether the buffer runs and queueing a notification one step, so none is queued after stopping
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile CompletableFuture<Void> stopped;
+    private Thread flusherThread;
+
+    public GroupCommitInsertBuffer(
+        NotificationRepository notificationRepository,
+        @Value("${queue.notifications.group-commit.max-batch-size:50}") int maxBatchSize,
+        @Value("${queue.notifications.group-commit.max-delay:PT0.005S}") Duration maxDelay
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public void start() {
+        stopped = new CompletableFuture<>();
+        running = true;
+        flusherThread = new Thread(this::flushContinuously, "notification-insert-buffer");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    @Override
+    public void stop() {
+        stopFlushing();
+        stopped.join();
+    }
+
+    /**
+     * Stops taking new notifications without interrupting a group being saved. The flusher then saves the
+     * notifications queued before, which it notices within the poll timeout, and only then calls back.
+     * @param callback called once all queued notifications are saved
+     */
+    @Override
+    public void stop(Runnable callback) {
+        stopFlushing();
+        stopped.thenRun(callback);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Inserts the notification together with the ones other callers are inserting at the same time.
+     * Inserts it straight away when the buffer is not running.
+     * @param notification notification to insert
+     * @return ID of the inserted notification
+     * @throws DuplicateMessageIdException if a notification with the same message ID already exists
+     */
+    public long insert(NewNotification notification) {
+        PendingInsert pending = new PendingInsert(notification);
+        if (!enqueue(pending)) {
+            return notificationRepository.insert(notification);
+        }
+
+        try {
+            return pending.result.get(RESULT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException exc) {
+            if (exc.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to insert notification", exc.getCause());
+        } catch (TimeoutException exc) {
+            throw new IllegalStateException("Notification was not inserted in time", exc);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for notification to be inserted", exc);
+        }
+    }
+
+    private boolean enqueue(PendingInsert pending) {
+        lock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            queue.add(pending);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushContinuously() {
+        while (running) {
+            try {
+                PendingInsert first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    flush(collectGroup(first));
+                }
+            } catch (InterruptedException exc) {
+                stopFlushing();
+            }
+        }
+
+        // callers which got in before the buffer stopped are still waiting
+        List<PendingInsert> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        stopped.complete(null);
+    }
+
+    private List<PendingInsert> collectGroup(PendingInsert first) {
+        List<PendingInsert> group = new ArrayList<>();
+        group.add(first);
+
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (group.size() < maxBatchSize) {
+            queue.drainTo(group, maxBatchSize - group.size());
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (group.size() >= maxBatchSize || remainingNanos <= 0) {
+                break;
+            }
+
+            try {
+                PendingInsert next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                group.add(next);
+            } catch (InterruptedException exc) {
+                // group collected so far is still saved before the flusher stops
+                stopFlushing();
+                break;
+            }
+        }
+
+        return group;
+    }
+
+    private void stopFlushing() {
+        // interrupt is not restored, as it would fail getting a connection for the final flush. Thread ends after it
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<PendingInsert> group) {
+        try {
+            List<Long> ids = notificationRepository.insertAll(
+                group.stream().map(pending -> pending.notification).toList()
+            );
+            // a message ID can only be saved once, any caller after the first one gets a duplicate
+            for (int i = 0; i < group.size(); i++) {
+                PendingInsert pending = group.get(i);
+                if (ids.get(i) != null) {
+                    pending.result.complete(ids.get(i));
+                } else {
+                    pending.result.completeExceptionally(new DuplicateMessageIdException(
+                        "Failed to save notification message for duplicate message id - "
+                            + pending.notification.messageId
+                    ));
+                }
+            }
+            return;
+        } catch (RuntimeException exc) {
+            log.warn("Failed to insert group of {} notifications. Inserting them one by one", group.size(), exc);
+        }
+
+        group.forEach(pending -> {
+            try {
+                pending.result.complete(notificationRepository.insert(pending.notification));
+            } catch (RuntimeException exc) {
+                pending.result.completeExceptionally(exc);
+            }
+        });
+    }
+
+    private static final class PendingInsert {
+
+        final NewNotification notification;
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        PendingInsert(NewNotification notification) {
+            this.notification = notification;
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class Notification {
     public final NotificationStatus status;
     public final String messageId;
     public final String client;
+    public final int attemptCount;
 
     public Notification(
         long id,
@@ -36,6 +37,42 @@ public class Notification {
         NotificationStatus status,
         String messageId,
         String client
+    ) {
+        this(
+            id,
+            confirmationId,
+            zipFileName,
+            poBox,
+            container,
+            service,
+            documentControlNumber,
+            errorCode,
+            errorDescription,
+            createdAt,
+            processedAt,
+            status,
+            messageId,
+            client,
+            0
+        );
+    }
+
+    public Notification(
+        long id,
+        String confirmationId,
+        String zipFileName,
+        String poBox,
+        String container,
+        String service,
+        String documentControlNumber,
+        ErrorCode errorCode,
+        String errorDescription,
+        Instant createdAt,
+        Instant processedAt,
+        NotificationStatus status,
+        String messageId,
+        String client,
+        int attemptCount
     ) {
         this.id = id;
         this.confirmationId = confirmationId;
@@ -51,6 +88,7 @@ public class Notification {
         this.status = status;
         this.messageId = messageId;
         this.client = client;
+        this.attemptCount = attemptCount;
     }
 
     public String toString() {
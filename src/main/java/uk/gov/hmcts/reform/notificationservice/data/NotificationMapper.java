@@ -29,7 +29,8 @@ public class NotificationMapper implements RowMapper<Notification> {
             getOptionalInstant(rs.getTimestamp("processed_at")),
             NotificationStatus.valueOf(rs.getString("status")),
             rs.getString("message_id"),
-            rs.getString("client")
+            rs.getString("client"),
+            rs.getInt("attempt_count")
         );
     }
 
@@ -3,15 +3,24 @@ package uk.gov.hmcts.reform.notificationservice.data;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import static uk.gov.hmcts.reform.notificationservice.data.NotificationStatus.CREATED;
@@ -22,23 +31,53 @@ import static uk.gov.hmcts.reform.notificationservice.data.NotificationStatus.SE
 @Repository
 public class NotificationRepository {
 
+    public static final String PENDING_NOTIFICATIONS_CHANNEL = "pending_notifications";
+
     private static final String ORDER_BY_ID = "ORDER BY id";
+    private static final String ORDER_BY_PRIORITY = "ORDER BY dispatch_rank, id";
     private static final String ZIP_FILE_NAME = "zipFileName";
     private static final String STATUS = "status";
 
+    // status is a literal, not a parameter, so that the planner can always match the partial pending index
+    private static final String PENDING_CRITERIA = "status = 'PENDING' AND confirmation_id IS NULL AND "
+        + "created_at < (now()::timestamp - make_interval(mins => :sendDelay)) "
+        + "AND (next_attempt_at IS NULL OR next_attempt_at <= now()::timestamp) ";
+    // matches the partial unique index on message ID, API notifications have no message ID
+    private static final String ON_DUPLICATE_MESSAGE_ID_DO_NOTHING =
+        "ON CONFLICT (message_id) WHERE message_id <> '' DO NOTHING ";
+    private static final String UNCLAIMED_CRITERIA =
+        "(claim_expires_at IS NULL OR claim_expires_at < now()::timestamp) ";
+
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate pendingPageJdbcTemplate;
     private final NotificationMapper mapper;
     private final int delayDurationToProcessPending;
-
+    private final int pendingPageSize;
+    private final Duration claimLease;
+    private final boolean wakeUpEnabled;
+    private final DispatchPriority dispatchPriority;
 
     public NotificationRepository(
         NamedParameterJdbcTemplate jdbcTemplate,
         NotificationMapper mapper,
-        @Value("${scheduling.task.pending-notifications.send-delay-in-minute}") int delayDurationToProcessPending
+        DispatchPriority dispatchPriority,
+        @Value("${scheduling.task.pending-notifications.send-delay-in-minute}") int delayDurationToProcessPending,
+        @Value("${scheduling.task.pending-notifications.page-size:500}") int pendingPageSize,
+        @Value("${scheduling.task.pending-notifications.claim.lease:PT5M}") Duration claimLease,
+        @Value("${scheduling.task.pending-notifications.wake-up.enabled:false}") boolean wakeUpEnabled
     ) {
         this.jdbcTemplate = jdbcTemplate;
         this.mapper = mapper;
+        this.dispatchPriority = dispatchPriority;
         this.delayDurationToProcessPending = delayDurationToProcessPending;
+        this.pendingPageSize = pendingPageSize;
+        this.claimLease = claimLease;
+        this.wakeUpEnabled = wakeUpEnabled;
+
+        // separate template so that fetch size only applies to the pending scan
+        JdbcTemplate pendingPageTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        pendingPageTemplate.setFetchSize(pendingPageSize);
+        this.pendingPageJdbcTemplate = new NamedParameterJdbcTemplate(pendingPageTemplate);
     }
 
     /**
@@ -93,46 +132,270 @@ public class NotificationRepository {
 
     public List<Notification> findPending() { //TODO: FACT-2026
         return jdbcTemplate.query(
-            "SELECT * FROM notifications WHERE status = :status and confirmation_id IS NULL and "
-                + "created_at < (now()::timestamp - interval '" + delayDurationToProcessPending + " minutes')",
-            new MapSqlParameterSource(STATUS, PENDING.name()),
+            "SELECT * FROM notifications WHERE " + PENDING_CRITERIA + ORDER_BY_PRIORITY,
+            new MapSqlParameterSource("sendDelay", delayDurationToProcessPending),
             mapper
         );
     }
 
-    public long insert(NewNotification notification) {
-        try {
-            KeyHolder keyHolder = new GeneratedKeyHolder();
+    /**
+     * Finds the services which have notifications ready to be sent to the supplier.
+     * @return services with pending notifications, in alphabetical order
+     */
+    public List<String> findPendingServices() { //TODO: FACT-2026
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT service FROM notifications WHERE " + PENDING_CRITERIA
+                + "AND " + UNCLAIMED_CRITERIA
+                + "ORDER BY service",
+            new MapSqlParameterSource("sendDelay", delayDurationToProcessPending),
+            String.class
+        );
+    }
 
-            jdbcTemplate.update(
-                "INSERT INTO notifications (zip_file_name, po_box, container, service, document_control_number, "
-                    + "error_code, error_description, created_at, status, message_id, client) "
-                    + "VALUES ( :zipFileName, :poBox, :container, :service, :DCN, :errorCode, "
-                    + ":errorDescription, CURRENT_TIMESTAMP, :status, :messageId, :client"
-                    + ")",
-                new MapSqlParameterSource()
-                    .addValue(ZIP_FILE_NAME, notification.zipFileName)
-                    .addValue("poBox", notification.poBox)
-                    .addValue("container", notification.container)
-                    .addValue("service", notification.service)
-                    .addValue("DCN", notification.documentControlNumber)
-                    .addValue("errorCode", notification.errorCode.name())
-                    .addValue("errorDescription", notification.errorDescription)
-                    .addValue(STATUS, PENDING.name())
-                    .addValue("messageId", notification.messageId)
-                    .addValue("client", notification.client),
-                keyHolder,
-                new String[]{"id"}
-            );
+    /**
+     * Finds the next page of the given service's notifications which are ready to be sent to the supplier,
+     * highest priority first. Uses keyset pagination on the dispatch rank and ID, so each page costs the same
+     * regardless of how many pending notifications have already been read.
+     * @param service service the notifications belong to
+     * @param afterId only notifications ranked after the one with this ID are returned. Use 0 for the first page
+     * @param limit maximum number of notifications to return
+     * @return up to limit pending notifications of the service ordered by dispatch rank and ID
+     */
+    public List<Notification> findPendingPage(String service, long afterId, int limit) { //TODO: FACT-2026
+        // rank of the last read notification is looked up, so callers only need to keep track of its ID
+        String afterCriteria = afterId == 0
+            ? ""
+            : "AND (dispatch_rank, id) > (SELECT last_read.dispatch_rank, last_read.id FROM notifications last_read "
+                + "WHERE last_read.id = :afterId) ";
 
-            return (long) keyHolder.getKey();
-        } catch (DuplicateKeyException ex) {
+        return pendingPageJdbcTemplate.query(
+            "SELECT * FROM notifications WHERE " + PENDING_CRITERIA
+                + "AND " + UNCLAIMED_CRITERIA
+                + "AND service = :service "
+                + afterCriteria
+                + ORDER_BY_PRIORITY + " "
+                + "LIMIT :limit",
+            new MapSqlParameterSource()
+                .addValue("sendDelay", delayDurationToProcessPending)
+                .addValue("service", service)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit),
+            mapper
+        );
+    }
+
+    /**
+     * Atomically claims a batch of notifications which are ready to be sent to the supplier.
+     * Rows locked by a concurrent claim are skipped rather than waited for, so several nodes can claim
+     * at the same time without getting the same rows. A claim expires after the configured lease, after
+     * which the row can be claimed again, e.g. when the node which claimed it has crashed.
+     * @param owner identifier of the node claiming the notifications
+     * @return up to configured page size of claimed notifications, highest priority first
+     */
+    public List<Notification> claimPending(String owner) { //TODO: FACT-2026
+        return jdbcTemplate.query(
+            "WITH claimed AS ("
+                + "  UPDATE notifications "
+                + "  SET claimed_by = :owner, "
+                + "    claim_expires_at = now()::timestamp + make_interval(secs => :leaseSeconds) "
+                + "  WHERE id IN ("
+                + "    SELECT id FROM notifications "
+                + "    WHERE " + PENDING_CRITERIA + "AND " + UNCLAIMED_CRITERIA
+                + "    " + ORDER_BY_PRIORITY + " "
+                + "    LIMIT :limit "
+                + "    FOR UPDATE SKIP LOCKED"
+                + "  ) "
+                + "  RETURNING *"
+                + ") "
+                + "SELECT * FROM claimed " + ORDER_BY_PRIORITY,
+            new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseSeconds", (double) claimLease.toSeconds())
+                .addValue("sendDelay", delayDurationToProcessPending)
+                .addValue("limit", pendingPageSize),
+            mapper
+        );
+    }
+
+    /**
+     * Claims the given notifications if they are still waiting to be sent, without waiting for the send delay.
+     * Notifications which were sent, or claimed by someone else, in the meantime are skipped, so the notifications
+     * returned can be sent without being sent twice.
+     * @param ids IDs of the notifications to claim
+     * @param owner identifier of the node claiming the notifications
+     * @return claimed notifications, highest priority first
+     */
+    public List<Notification> claimByIds(Collection<Long> ids, String owner) { //TODO: FACT-2026
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(
+            "WITH claimed AS ("
+                + "  UPDATE notifications "
+                + "  SET claimed_by = :owner, "
+                + "    claim_expires_at = now()::timestamp + make_interval(secs => :leaseSeconds) "
+                + "  WHERE id IN ("
+                + "    SELECT id FROM notifications "
+                + "    WHERE id IN (:ids) "
+                + "    AND status = 'PENDING' AND confirmation_id IS NULL "
+                + "    AND (next_attempt_at IS NULL OR next_attempt_at <= now()::timestamp) "
+                + "    AND " + UNCLAIMED_CRITERIA
+                + "    FOR UPDATE SKIP LOCKED"
+                + "  ) "
+                + "  RETURNING *"
+                + ") "
+                + "SELECT * FROM claimed " + ORDER_BY_PRIORITY,
+            new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseSeconds", (double) claimLease.toSeconds())
+                .addValue("ids", ids),
+            mapper
+        );
+    }
+
+    /**
+     * Extends the claims the given owner still holds on the given notifications by another lease, e.g. while they are
+     * waiting to be sent. Notifications released or claimed by someone else in the meantime are left as they are.
+     * @param ids IDs of the notifications to keep claimed
+     * @param owner identifier of the node which claimed the notifications
+     * @return number of notifications whose claim was renewed
+     */
+    public int renewClaims(Collection<Long> ids, String owner) { //TODO: FACT-2026
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(
+            "UPDATE notifications "
+                + "SET claim_expires_at = now()::timestamp + make_interval(secs => :leaseSeconds) "
+                + "WHERE id IN (:ids) AND claimed_by = :owner AND status = 'PENDING'",
+            new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseSeconds", (double) claimLease.toSeconds())
+                .addValue("ids", ids)
+        );
+    }
+
+    /**
+     * Inserts a notification received from the queue. A notification whose message ID is already saved,
+     * e.g. from a redelivered message, is detected by the insert itself and not saved again.
+     * @param notification notification to insert
+     * @return ID of the inserted notification
+     * @throws DuplicateMessageIdException if a notification with the same message ID already exists
+     */
+    public long insert(NewNotification notification) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "INSERT INTO notifications (zip_file_name, po_box, container, service, document_control_number, "
+                + "error_code, error_description, created_at, status, message_id, client, dispatch_rank) "
+                + "VALUES ( :zipFileName, :poBox, :container, :service, :DCN, :errorCode, "
+                + ":errorDescription, CURRENT_TIMESTAMP, :status, :messageId, :client, "
+                + "CURRENT_TIMESTAMP + make_interval(secs => :rankOffsetSeconds)"
+                + ") "
+                + ON_DUPLICATE_MESSAGE_ID_DO_NOTHING
+                + "RETURNING id",
+            new MapSqlParameterSource()
+                .addValue(ZIP_FILE_NAME, notification.zipFileName)
+                .addValue("poBox", notification.poBox)
+                .addValue("container", notification.container)
+                .addValue("service", notification.service)
+                .addValue("DCN", notification.documentControlNumber)
+                .addValue("errorCode", notification.errorCode.name())
+                .addValue("errorDescription", notification.errorDescription)
+                .addValue(
+                    "rankOffsetSeconds",
+                    (double) dispatchPriority.rankOffset(notification.errorCode).toSeconds()
+                )
+                .addValue(STATUS, PENDING.name())
+                .addValue("messageId", notification.messageId)
+                .addValue("client", notification.client),
+            Long.class
+        );
+
+        if (ids.isEmpty()) {
             throw new DuplicateMessageIdException(
                 String.format(
                     "Failed to save notification message for duplicate message id - %s", notification.messageId
                 )
             );
         }
+
+        notifyPendingNotificationsInserted();
+        return ids.get(0);
+    }
+
+    /**
+     * Inserts the notifications with a single multi-row statement, so a batch of notifications costs
+     * one database round-trip. Notifications whose message ID is already saved, either before or earlier
+     * in the same batch, are skipped.
+     * @param notifications notifications to insert
+     * @return IDs of the inserted notifications in the order of the given notifications, null for skipped duplicates
+     */
+    public List<Long> insertAll(List<NewNotification> notifications) { //TODO: FACT-2026
+        List<Long> ids = new ArrayList<>();
+        if (notifications.isEmpty()) {
+            return ids;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource(STATUS, PENDING.name())
+            .addValue("lastOrdinal", notifications.size() - 1);
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < notifications.size(); i++) {
+            NewNotification notification = notifications.get(i);
+            values.append(i == 0 ? "" : ", ")
+                .append(String.format(
+                    "((SELECT id FROM new_ids WHERE ordinal = %1$d), "
+                        + ":zipFileName%1$d, :poBox%1$d, :container%1$d, :service%1$d, :DCN%1$d, :errorCode%1$d, "
+                        + ":errorDescription%1$d, CURRENT_TIMESTAMP, :status, :messageId%1$d, :client%1$d, "
+                        + "CURRENT_TIMESTAMP + make_interval(secs => :rankOffsetSeconds%1$d))",
+                    i
+                ));
+            params
+                .addValue(ZIP_FILE_NAME + i, notification.zipFileName)
+                .addValue("poBox" + i, notification.poBox)
+                .addValue("container" + i, notification.container)
+                .addValue("service" + i, notification.service)
+                .addValue("DCN" + i, notification.documentControlNumber)
+                .addValue("errorCode" + i, notification.errorCode.name())
+                .addValue("errorDescription" + i, notification.errorDescription)
+                .addValue(
+                    "rankOffsetSeconds" + i,
+                    (double) dispatchPriority.rankOffset(notification.errorCode).toSeconds()
+                )
+                .addValue("messageId" + i, notification.messageId)
+                .addValue("client" + i, notification.client);
+        }
+
+        // IDs are taken up front, so each inserted row is matched to its position rather than to its message ID,
+        // which is empty for some notifications
+        jdbcTemplate.query(
+            "WITH new_ids AS MATERIALIZED ("
+                + "SELECT ordinal, nextval(pg_get_serial_sequence('notifications', 'id')) AS id "
+                + "FROM generate_series(0, :lastOrdinal) AS ordinal"
+                + "), inserted AS ("
+                + "INSERT INTO notifications (id, zip_file_name, po_box, container, service, document_control_number, "
+                + "error_code, error_description, created_at, status, message_id, client, dispatch_rank) "
+                + "VALUES " + values + " "
+                + ON_DUPLICATE_MESSAGE_ID_DO_NOTHING
+                + "RETURNING id"
+                + ") "
+                + "SELECT inserted.id FROM new_ids LEFT JOIN inserted ON inserted.id = new_ids.id "
+                + "ORDER BY new_ids.ordinal",
+            params,
+            (RowCallbackHandler) rs -> ids.add(rs.getObject("id", Long.class))
+        );
+
+        if (ids.stream().anyMatch(Objects::nonNull)) {
+            notifyPendingNotificationsInserted();
+        }
+        return ids;
+    }
+
+    private void notifyPendingNotificationsInserted() {
+        if (wakeUpEnabled) {
+            // delivered to listeners once the inserting transaction commits
+            jdbcTemplate.getJdbcTemplate().execute("NOTIFY " + PENDING_NOTIFICATIONS_CHANNEL);
+        }
     }
 
     /**
@@ -226,6 +489,106 @@ public class NotificationRepository {
         return rowsUpdated == 1;
     }
 
+    /**
+     * Mark notifications as sent in a single JDBC batch.
+     * @param confirmationIds ID provided by API after successfully sending notification, keyed by notification ID
+     * @return number of updated notifications
+     */
+    public int markAllAsSent(Map<Long, String> confirmationIds) { //TODO: FACT-2026
+        SqlParameterSource[] batch = confirmationIds
+            .entrySet()
+            .stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("confirmationId", entry.getValue())
+                .addValue(STATUS, SENT.name())
+                .addValue("id", entry.getKey())
+            )
+            .toArray(SqlParameterSource[]::new);
+
+        int[] rowsUpdated = jdbcTemplate.batchUpdate(
+            "UPDATE notifications "
+                + "SET confirmation_id = :confirmationId, "
+                + "  processed_at = NOW(), "
+                + "  status = :status "
+                + "WHERE id = :id",
+            batch
+        );
+
+        return Arrays.stream(rowsUpdated).map(rows -> Math.max(rows, 0)).sum();
+    }
+
+    /**
+     * Links notifications sent as part of an identical notification to the one actually sent, in a single JDBC batch.
+     * @param coalescedInto ID of the notification which was sent, keyed by ID of the duplicate notification
+     * @return number of updated notifications
+     */
+    public int markAllAsCoalesced(Map<Long, Long> coalescedInto) { //TODO: FACT-2026
+        SqlParameterSource[] batch = coalescedInto
+            .entrySet()
+            .stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("coalescedInto", entry.getValue())
+                .addValue("id", entry.getKey())
+            )
+            .toArray(SqlParameterSource[]::new);
+
+        int[] rowsUpdated = jdbcTemplate.batchUpdate(
+            "UPDATE notifications "
+                + "SET coalesced_into = :coalescedInto "
+                + "WHERE id = :id",
+            batch
+        );
+
+        return Arrays.stream(rowsUpdated).map(rows -> Math.max(rows, 0)).sum();
+    }
+
+    /**
+     * Records a failed attempt to send notifications and schedules their next attempt, in a single JDBC batch.
+     * Any claim on the notifications is released, as the next attempt time now decides when they are picked up.
+     * @param retryDelays delay before the next attempt, keyed by notification ID
+     * @return number of updated notifications
+     */
+    public int markAllAsPostponed(Map<Long, Duration> retryDelays) { //TODO: FACT-2026
+        SqlParameterSource[] batch = retryDelays
+            .entrySet()
+            .stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("delaySeconds", entry.getValue().toMillis() / 1000.0)
+                .addValue(STATUS, PENDING.name())
+                .addValue("id", entry.getKey())
+            )
+            .toArray(SqlParameterSource[]::new);
+
+        int[] rowsUpdated = jdbcTemplate.batchUpdate(
+            "UPDATE notifications "
+                + "SET attempt_count = attempt_count + 1, "
+                + "  next_attempt_at = now()::timestamp + make_interval(secs => :delaySeconds), "
+                + "  claimed_by = NULL, "
+                + "  claim_expires_at = NULL "
+                + "WHERE id = :id AND status = :status",
+            batch
+        );
+
+        return Arrays.stream(rowsUpdated).map(rows -> Math.max(rows, 0)).sum();
+    }
+
+    /**
+     * Mark notifications as failed in a single update.
+     * @param ids notification IDs
+     * @return number of updated notifications
+     */
+    public int markAllAsFailure(Collection<Long> ids) { //TODO: FACT-2026
+        return jdbcTemplate.update(
+            "UPDATE notifications "
+                + "SET processed_at = NOW(), "
+                + "  status = :status "
+                + "WHERE id IN (:ids)",
+            new MapSqlParameterSource()
+                .addValue(STATUS, FAILED.name())
+                .addValue("ids", ids)
+        );
+    }
+
     /**
      * Updates the status column of a notification row in the Notifications table
      * to have the status of FAILED.
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.notificationservice.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception class - should be thrown when a call to a supplier is not made because the supplier is already handling
+ * as many concurrent calls as it is currently allowed.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3049268418236742715L;
+
+    /**
+     * Constructs a new concurrency limit exceeded exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
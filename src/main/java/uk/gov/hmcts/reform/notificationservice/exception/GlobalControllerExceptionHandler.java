@@ -92,6 +92,32 @@ public class GlobalControllerExceptionHandler {
         return new ResponseEntity<>(ex.getNotificationInfo(), responseHeaders, HttpStatus.FAILED_DEPENDENCY);
     }
 
+    /**
+     * Handles the ConcurrencyLimitExceeded exception.
+     * Thrown when the supplier is already handling as many calls as it is allowed to. This method handles the
+     * exception by returning a status code of 503 (SERVICE UNAVAILABLE)
+     * @param ex the exception
+     * @return ResponseEntity with 503 status code
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    protected ResponseEntity<Void> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex) {
+        log.error(ex.getMessage(), ex);
+        return status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    /**
+     * Handles the SupplierUnavailable exception.
+     * Thrown when the supplier has been failing and its circuit breaker is open. This method handles the exception by
+     * returning a status code of 503 (SERVICE UNAVAILABLE)
+     * @param ex the exception
+     * @return ResponseEntity with 503 status code
+     */
+    @ExceptionHandler(SupplierUnavailableException.class)
+    protected ResponseEntity<Void> handleSupplierUnavailableException(SupplierUnavailableException ex) {
+        log.error(ex.getMessage());
+        return status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
     /**
      * Handles the MethodArgumentNotValid exception.
      * When the body of the request has correct syntax but the values fail validation the
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.notificationservice.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception class - should be thrown when a call to a supplier is not made because its circuit breaker is open,
+ * i.e. the supplier has recently been failing and is given time to recover.
+ */
+public class SupplierUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2318456047729113508L;
+
+    /**
+     * Constructs a new supplier unavailable exception for the given client.
+     *
+     * @param client the client whose supplier is unavailable
+     */
+    public SupplierUnavailableException(String client) {
+        super("Circuit breaker is open for " + client + " supplier");
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.notificationservice.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.clients.SupplierNotificationClient;
+
+/**
+ * Reports the state of the suppliers' circuit breakers on the health endpoint.
+ * The service itself stays up while a supplier is unavailable - notifications are kept and sent once it recovers -
+ * so an open breaker is only reported in the details and does not bring the health status down.
+ */
+@Component
+public class SupplierCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final SupplierNotificationClient supplierNotificationClient;
+
+    public SupplierCircuitBreakerHealthIndicator(SupplierNotificationClient supplierNotificationClient) {
+        this.supplierNotificationClient = supplierNotificationClient;
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+            .withDetail("primary", supplierNotificationClient.getCircuitState("primary"))
+            .withDetail("secondary", supplierNotificationClient.getCircuitState("secondary"))
+            .build();
+    }
+}
@@ -1,35 +1,57 @@
 package uk.gov.hmcts.reform.notificationservice.service;
 
-import com.azure.core.util.BinaryData;
 import jakarta.jms.JMSException;
+import jakarta.jms.TextMessage;
 import org.apache.activemq.command.ActiveMQMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
 import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
 import uk.gov.hmcts.reform.notificationservice.exception.UnknownMessageProcessingResultException;
 import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
 
+/**
+ * Processes notification messages received from the JMS queue.
+ * Holds no state of its own, so the listener container can call it from several consumer threads at the same time.
+ * Messages which can not be processed are sent to the dead-letter queue and acknowledged, so they are not delivered
+ * again. The send joins the listener's transacted session, so a message is either in the dead-letter queue or still
+ * on the notifications queue.
+ */
 //TODO: FACT-2026 - whole class can go
 @Service
+@ConditionalOnProperty(name = "jms.enabled", havingValue = "true")
 public class JmsNotificationMessageProcessor {
 
+    static final String DEAD_LETTER_REASON = "DeadLetterReason";
+    static final String DEAD_LETTER_ERROR_DESCRIPTION = "DeadLetterErrorDescription";
+    static final String ORIGINAL_MESSAGE_ID = "OriginalMessageId";
+
     private static final Logger log = LoggerFactory.getLogger(JmsNotificationMessageProcessor.class);
 
     private final NotificationMessageHandler notificationMessageHandler;
     private final NotificationMessageParser notificationMessageParser;
+    private final JmsTemplate jmsTemplate;
     private final int maxDeliveryCount;
+    private final String deadLetterQueue;
 
     public JmsNotificationMessageProcessor(
         NotificationMessageHandler notificationMessageHandler,
         NotificationMessageParser notificationMessageParser,
-        @Value("${queue.notifications.max-delivery-count}") int maxDeliveryCount
+        JmsTemplate jmsTemplate,
+        @Value("${queue.notifications.max-delivery-count}") int maxDeliveryCount,
+        @Value("${jms.dead-letter-queue:notifications.DLQ}") String deadLetterQueue
     ) {
         this.notificationMessageHandler = notificationMessageHandler;
         this.notificationMessageParser = notificationMessageParser;
+        this.jmsTemplate = jmsTemplate;
         this.maxDeliveryCount = maxDeliveryCount;
+        this.deadLetterQueue = deadLetterQueue;
     }
 
     /**
@@ -41,7 +63,7 @@ public class JmsNotificationMessageProcessor {
             try {
                 // DO NOT CHANGE, used in alert
                 log.info("Started processing notification message with ID {}", message.getJMSMessageID());
-                NotificationMsg notificationMsg = notificationMessageParser.parse(BinaryData.fromString(messageBody));
+                NotificationMsg notificationMsg = notificationMessageParser.parse(messageBody);
                 notificationMessageHandler.handleNotificationMessage(notificationMsg, message.getJMSMessageID());
                 finaliseProcessedMessage(message, MessageProcessingResult.SUCCESS);
             } catch (InvalidMessageException ex) {
@@ -60,7 +82,7 @@ public class JmsNotificationMessageProcessor {
 
     private void handleDuplicateMessageId(ActiveMQMessage messageContext, String errorMessage) throws JMSException {
         if (messageContext.getStringProperty("JMSXDeliveryCount").equals("0")) {
-            log.error("Message dead-lettered...if this was ASB");
+            deadLetterTheMessage(messageContext, "Duplicate notification message id", errorMessage);
         } else {
             log.warn(
                 "Notification message already processed for message id: {} Reason: {}",
@@ -74,7 +96,7 @@ public class JmsNotificationMessageProcessor {
     private void finaliseProcessedMessage(
         ActiveMQMessage messageContext,
         MessageProcessingResult processingResult
-    ) {
+    ) throws JMSException {
         try {
             log.info("Finalising Notification Message with ID {} ", messageContext.getJMSMessageID());
             completeProcessedMessage(messageContext, processingResult);
@@ -85,13 +107,17 @@ public class JmsNotificationMessageProcessor {
                 processingResult,
                 ex
             );
+            if (ex instanceof JMSException jmsException) {
+                // rolls the session back, so the message is delivered again instead of being lost
+                throw jmsException;
+            }
         }
     }
 
     private void completeProcessedMessage(
         ActiveMQMessage messageContext,
         MessageProcessingResult processingResult
-    ) throws jakarta.jms.JMSException {
+    ) throws JMSException {
         switch (processingResult) {
             case SUCCESS -> {
                 log.info("Completing Notification Message with ID {} ", messageContext.getJMSMessageID());
@@ -113,7 +139,7 @@ public class JmsNotificationMessageProcessor {
         }
     }
 
-    private void deadLetterIfMaxDeliveryCountIsReached(ActiveMQMessage messageContext) throws jakarta.jms.JMSException {
+    private void deadLetterIfMaxDeliveryCountIsReached(ActiveMQMessage messageContext) throws JMSException {
         int deliveryCount = (Integer.parseInt(messageContext.getStringProperty("JMSXDeliveryCount")) + 1);
 
         if (deliveryCount < maxDeliveryCount) {
@@ -137,10 +163,30 @@ public class JmsNotificationMessageProcessor {
         ActiveMQMessage messageContext,
         String reason,
         String description
-    ) {
+    ) throws JMSException {
+        String messageId = messageContext.getJMSMessageID();
+        String messageBody = ((ActiveMQTextMessage) messageContext).getText();
+
+        try {
+            jmsTemplate.send(deadLetterQueue, session -> {
+                TextMessage deadLetter = session.createTextMessage(messageBody);
+                deadLetter.setStringProperty(DEAD_LETTER_REASON, reason);
+                deadLetter.setStringProperty(DEAD_LETTER_ERROR_DESCRIPTION, description);
+                deadLetter.setStringProperty(ORIGINAL_MESSAGE_ID, messageId);
+                return deadLetter;
+            });
+        } catch (JmsException ex) {
+            // message is not acknowledged, so it stays on the queue
+            JMSException sendFailure = new JMSException("Failed to send message to " + deadLetterQueue);
+            sendFailure.setLinkedException(ex);
+            throw sendFailure;
+        }
+        messageContext.acknowledge();
+
         log.error(
-            "Notification Message with ID {} has been dead-lettered (if this was ASB). Reason: '{}'. Description: '{}'",
-            messageContext.getJMSMessageID(),
+            "Notification Message with ID {} has been dead-lettered to {}. Reason: '{}'. Description: '{}'",
+            messageId,
+            deadLetterQueue,
             reason,
             description
         );
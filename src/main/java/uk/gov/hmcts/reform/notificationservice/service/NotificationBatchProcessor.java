@@ -0,0 +1,213 @@
+package uk.gov.hmcts.reform.notificationservice.service;
+
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import com.azure.messaging.servicebus.models.DeadLetterOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
+import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
+import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
+import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Ingests notification messages from the queue in batches, as an alternative to {@link NotificationMessageProcessor}.
+ * Receives up to the batch size of messages, parses them all and saves the valid ones with a single insert, after
+ * which the messages are settled concurrently. Failures are isolated per message: an invalid message is dead-lettered
+ * on its own, a message already saved is skipped by the insert and handled as a duplicate, and if the batch insert
+ * fails the messages are saved one by one so only the failing ones are held back.
+ */
+//TODO: FACT-2026 - whole class can go
+@Service
+@ConditionalOnProperty(name = "queue.notifications.batch.enabled", havingValue = "true")
+public class NotificationBatchProcessor {
+
+    private static final Logger log = getLogger(NotificationBatchProcessor.class);
+
+    private final ServiceBusReceiverClient receiver;
+    private final NotificationMessageParser notificationMessageParser;
+    private final NotificationMessageHandler notificationMessageHandler;
+    private final int batchSize;
+    private final Duration maxWait;
+    private final int maxDeliveryCount;
+
+    // settling is a network call per message, so each one gets its own (virtual) thread
+    private final ExecutorService settleExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationBatchProcessor(
+        ServiceBusReceiverClient receiver,
+        NotificationMessageParser notificationMessageParser,
+        NotificationMessageHandler notificationMessageHandler,
+        @Value("${queue.notifications.batch.size:50}") int batchSize,
+        @Value("${queue.notifications.batch.max-wait:PT1S}") Duration maxWait,
+        @Value("${queue.notifications.max-delivery-count}") int maxDeliveryCount
+    ) {
+        this.receiver = receiver;
+        this.notificationMessageParser = notificationMessageParser;
+        this.notificationMessageHandler = notificationMessageHandler;
+        this.batchSize = batchSize;
+        this.maxWait = maxWait;
+        this.maxDeliveryCount = maxDeliveryCount;
+    }
+
+    /**
+     * Receives, saves and settles the next batch of messages.
+     * @return number of messages received, 0 if the queue was empty for the whole wait time
+     */
+    public int processNextBatch() {
+        List<ServiceBusReceivedMessage> messages = receiver.receiveMessages(batchSize, maxWait).stream().toList();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Received batch of {} notification messages", messages.size());
+
+        List<Runnable> settlements = new ArrayList<>();
+        Map<ServiceBusReceivedMessage, NotificationMsg> parsed = new LinkedHashMap<>();
+        List<NewNotification> notifications = new ArrayList<>();
+        for (ServiceBusReceivedMessage message : messages) {
+            // DO NOT CHANGE, used in alert
+            log.info("Started processing notification message with ID {}", message.getMessageId());
+            try {
+                String messageId = message.getMessageId();
+                NotificationMsg notificationMsg = notificationMessageParser.parse(message.getBody());
+                notifications.add(notificationMessageHandler.toNewNotification(notificationMsg, messageId));
+                parsed.put(message, notificationMsg);
+            } catch (InvalidMessageException ex) {
+                log.error("Invalid notification message with ID: {} ", message.getMessageId(), ex);
+                settlements.add(
+                    () -> deadLetter(message, "Notification Message processing error", "UNRECOVERABLE_FAILURE")
+                );
+            } catch (Exception ex) {
+                log.error("Failed to process notification message with ID: {} ", message.getMessageId(), ex);
+                settlements.add(() -> deadLetterIfMaxDeliveryCountIsReached(message));
+            }
+        }
+
+        settlements.addAll(save(parsed, notifications));
+        settle(settlements);
+
+        return messages.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        settleExecutor.shutdown();
+    }
+
+    private List<Runnable> save(
+        Map<ServiceBusReceivedMessage, NotificationMsg> parsed,
+        List<NewNotification> notifications
+    ) {
+        try {
+            List<Long> ids = notificationMessageHandler.handleNotifications(notifications);
+
+            // a message ID can only be saved once, later copies in the same batch were skipped too
+            List<Runnable> settlements = new ArrayList<>();
+            int position = 0;
+            for (ServiceBusReceivedMessage message : parsed.keySet()) {
+                if (ids.get(position++) != null) {
+                    settlements.add(() -> complete(message));
+                } else {
+                    settlements.add(() -> handleDuplicateMessageId(
+                        message,
+                        "Failed to save notification message for duplicate message id - " + message.getMessageId()
+                    ));
+                }
+            }
+            return settlements;
+        } catch (Exception ex) {
+            log.warn("Failed to save batch of {} notification messages. Saving them one by one", parsed.size(), ex);
+        }
+
+        List<Runnable> settlements = new ArrayList<>();
+        parsed.forEach((message, notificationMsg) -> {
+            try {
+                notificationMessageHandler.handleNotificationMessage(notificationMsg, message.getMessageId());
+                settlements.add(() -> complete(message));
+            } catch (DuplicateMessageIdException ex) {
+                settlements.add(() -> handleDuplicateMessageId(message, ex.getMessage()));
+            } catch (Exception ex) {
+                log.error("Failed to process notification message with ID: {} ", message.getMessageId(), ex);
+                settlements.add(() -> deadLetterIfMaxDeliveryCountIsReached(message));
+            }
+        });
+        return settlements;
+    }
+
+    private void settle(List<Runnable> settlements) {
+        CompletableFuture.allOf(
+            settlements.stream()
+                .map(settlement -> CompletableFuture.runAsync(settlement, settleExecutor))
+                .toArray(CompletableFuture[]::new)
+        ).join();
+    }
+
+    private void handleDuplicateMessageId(ServiceBusReceivedMessage message, String errorMessage) {
+        if (message.getDeliveryCount() == 0) {
+            deadLetter(message, "Duplicate notification message id", errorMessage);
+        } else {
+            log.warn(
+                "Notification message already processed for message id: {} Reason: {}",
+                message.getMessageId(),
+                errorMessage
+            );
+            complete(message);
+        }
+    }
+
+    private void deadLetterIfMaxDeliveryCountIsReached(ServiceBusReceivedMessage message) {
+        int deliveryCount = (int) message.getDeliveryCount() + 1;
+
+        if (deliveryCount < maxDeliveryCount) {
+            // do nothing - let the message lock expire
+            log.info(
+                "Allowing notification message with ID {} to return to queue (delivery attempt {})",
+                message.getMessageId(),
+                deliveryCount
+            );
+        } else {
+            deadLetter(message, "Too many deliveries", "Reached limit of message delivery count of " + deliveryCount);
+        }
+    }
+
+    private void complete(ServiceBusReceivedMessage message) {
+        try {
+            receiver.complete(message);
+            log.info("Notification Message with ID {} has been completed successfully.", message.getMessageId());
+        } catch (Exception ex) {
+            log.error("Failed to complete notification message with ID {}", message.getMessageId(), ex);
+        }
+    }
+
+    private void deadLetter(ServiceBusReceivedMessage message, String reason, String description) {
+        try {
+            receiver.deadLetter(
+                message,
+                new DeadLetterOptions().setDeadLetterReason(reason).setDeadLetterErrorDescription(description)
+            );
+            log.error(
+                "Notification Message with ID {} has been dead-lettered. Reason: '{}'. Description: '{}'",
+                message.getMessageId(),
+                reason,
+                description
+            );
+        } catch (Exception ex) {
+            log.error("Failed to dead-letter notification message with ID {}", message.getMessageId(), ex);
+        }
+    }
+}
@@ -4,13 +4,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.notificationservice.config.SecondaryClientJurisdictionsConfig;
+import uk.gov.hmcts.reform.notificationservice.data.GroupCommitInsertBuffer;
+import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
 import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
 import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.EagerDispatchQueue;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
 //TODO: FACT-2026 - whole class can go
 @Service
@@ -20,36 +26,73 @@ public class NotificationMessageHandler {
     private final NotificationMessageMapper notificationMessageMapper;
     private final NotificationRepository notificationRepository;
     private final String[] secondaryClientJurisdictions;
+    private final Optional<GroupCommitInsertBuffer> insertBuffer;
+    private final Optional<EagerDispatchQueue> eagerDispatchQueue;
 
     @Autowired
     public NotificationMessageHandler(
         NotificationMessageMapper notificationMessageMapper,
         NotificationRepository notificationRepository,
-        SecondaryClientJurisdictionsConfig secondaryClientJurisdictions
+        SecondaryClientJurisdictionsConfig secondaryClientJurisdictions,
+        Optional<GroupCommitInsertBuffer> insertBuffer,
+        Optional<EagerDispatchQueue> eagerDispatchQueue
     ) {
         this.notificationMessageMapper = notificationMessageMapper;
         this.notificationRepository = notificationRepository;
         this.secondaryClientJurisdictions = secondaryClientJurisdictions.getJurisdictionList();
+        this.insertBuffer = insertBuffer;
+        this.eagerDispatchQueue = eagerDispatchQueue;
     }
 
     public void handleNotificationMessage(NotificationMsg notificationMsg, String messageId) {
         log.info("Handle notification message, Zip File: {}", notificationMsg.zipFileName);
 
-        // Cater for the possibility of the jurisdiction being not present. If it is, set it to primary
-        String jurisdiction = Objects.requireNonNullElse(notificationMsg.jurisdiction, "").toLowerCase(Locale.ROOT);
-        String client = Arrays.asList(secondaryClientJurisdictions).contains(jurisdiction) ? "secondary" : "primary";
-
-        var newNotification = notificationMessageMapper
-            .map(notificationMsg, messageId, client);
+        var newNotification = toNewNotification(notificationMsg, messageId);
 
-        long id = notificationRepository.insert(newNotification);
+        // with group commit enabled, inserted together with the notifications of concurrently handled messages
+        long id = insertBuffer.isPresent()
+            ? insertBuffer.get().insert(newNotification)
+            : notificationRepository.insert(newNotification);
+        publishIfEager(newNotification, id);
         log.info(
             "Handle notification message successful: Zip File: {}, "
                 + "inserted Notification ID: {}, sent to client: {}, jurisdiction: {}",
             notificationMsg.zipFileName,
             id,
-            client,
-            jurisdiction
+            newNotification.client,
+            notificationMsg.jurisdiction
         );
     }
+
+    /**
+     * Saves the notifications of several messages in a single insert. Notifications of messages which were
+     * already saved are skipped.
+     * @param notifications notifications mapped from the messages, see {@link #toNewNotification}
+     * @return IDs of the inserted notifications in the order of the given notifications, null for skipped ones
+     */
+    @Transactional
+    public List<Long> handleNotifications(List<NewNotification> notifications) { //TODO: FACT-2026
+        List<Long> ids = notificationRepository.insertAll(notifications);
+        for (int i = 0; i < notifications.size(); i++) {
+            if (ids.get(i) != null) {
+                publishIfEager(notifications.get(i), ids.get(i));
+            }
+        }
+        log.info("Handle notification messages successful: inserted Notification IDs: {}", ids);
+        return ids;
+    }
+
+    private void publishIfEager(NewNotification notification, long id) {
+        eagerDispatchQueue
+            .filter(queue -> queue.isEager(notification))
+            .ifPresent(queue -> queue.publishAfterCommit(id));
+    }
+
+    public NewNotification toNewNotification(NotificationMsg notificationMsg, String messageId) {
+        // Cater for the possibility of the jurisdiction being not present. If it is, set it to primary
+        String jurisdiction = Objects.requireNonNullElse(notificationMsg.jurisdiction, "").toLowerCase(Locale.ROOT);
+        String client = Arrays.asList(secondaryClientJurisdictions).contains(jurisdiction) ? "secondary" : "primary";
+
+        return notificationMessageMapper.map(notificationMsg, messageId, client);
+    }
 }
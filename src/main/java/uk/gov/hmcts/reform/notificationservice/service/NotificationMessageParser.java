@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.notificationservice.service;
 
 import com.azure.core.util.BinaryData;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -16,32 +17,55 @@ public class NotificationMessageParser {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationMessageParser.class);
 
-    private final ObjectMapper objectMapper;
+    // bound once, so each message is read without looking up the deserializer again
+    private final ObjectReader notificationMsgReader;
 
     public NotificationMessageParser(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.notificationMsgReader = objectMapper.readerFor(NotificationMsg.class);
     }
 
+    /**
+     * Parses the message straight from its bytes, without decoding them to a string first.
+     * @param messageBody body of the Service Bus message
+     * @return parsed notification message
+     * @throws InvalidMessageException if the body is not a valid notification message
+     */
     public NotificationMsg parse(BinaryData messageBody) {
         try {
-            NotificationMsg notificationMsg =
-                objectMapper.readValue(messageBody.toString(), NotificationMsg.class);
-            logger.info(
-                "Parsed notification message, Zip File Name: {}, Error Code: {}, "
-                    + "Jurisdiction: {}, PO Box: {}, Container {}, Service: {}, Document Control Number: {}",
-                notificationMsg.zipFileName,
-                notificationMsg.errorCode,
-                notificationMsg.jurisdiction,
-                notificationMsg.poBox,
-                notificationMsg.container,
-                notificationMsg.service,
-                notificationMsg.documentControlNumber
-            );
-
-            return notificationMsg;
+            return logParsed(notificationMsgReader.readValue(messageBody.toBytes()));
         } catch (IOException exc) {
             throw new InvalidMessageException(exc);
         }
     }
 
+    /**
+     * Parses the message from the text it was received as.
+     * @param messageBody body of the JMS text message
+     * @return parsed notification message
+     * @throws InvalidMessageException if the body is not a valid notification message
+     */
+    public NotificationMsg parse(String messageBody) {
+        try {
+            return logParsed(notificationMsgReader.readValue(messageBody));
+        } catch (IOException exc) {
+            throw new InvalidMessageException(exc);
+        }
+    }
+
+    private NotificationMsg logParsed(NotificationMsg notificationMsg) {
+        logger.info(
+            "Parsed notification message, Zip File Name: {}, Error Code: {}, "
+                + "Jurisdiction: {}, PO Box: {}, Container {}, Service: {}, Document Control Number: {}",
+            notificationMsg.zipFileName,
+            notificationMsg.errorCode,
+            notificationMsg.jurisdiction,
+            notificationMsg.poBox,
+            notificationMsg.container,
+            notificationMsg.service,
+            notificationMsg.documentControlNumber
+        );
+
+        return notificationMsg;
+    }
+
 }
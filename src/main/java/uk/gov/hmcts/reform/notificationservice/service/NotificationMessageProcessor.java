@@ -3,6 +3,8 @@ package uk.gov.hmcts.reform.notificationservice.service;
 import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
 import com.azure.messaging.servicebus.models.DeadLetterOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +13,12 @@ import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdExcep
 import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
 import uk.gov.hmcts.reform.notificationservice.exception.UnknownMessageProcessingResultException;
 
+import java.util.Locale;
+
+/**
+ * Processes notification messages received from the queue.
+ * How long each message took to handle is published as a metric, tagged with the processing result.
+ */
 //TODO: FACT-2026 - whole class can go
 @Service
 public class NotificationMessageProcessor {
@@ -19,15 +27,18 @@ public class NotificationMessageProcessor {
 
     private final NotificationMessageHandler notificationMessageHandler;
     private final NotificationMessageParser notificationMessageParser;
+    private final MeterRegistry meterRegistry;
     private final int maxDeliveryCount;
 
     public NotificationMessageProcessor(
         NotificationMessageHandler notificationMessageHandler,
         NotificationMessageParser notificationMessageParser,
+        MeterRegistry meterRegistry,
         @Value("${queue.notifications.max-delivery-count}") int maxDeliveryCount
     ) {
         this.notificationMessageHandler = notificationMessageHandler;
         this.notificationMessageParser = notificationMessageParser;
+        this.meterRegistry = meterRegistry;
         this.maxDeliveryCount = maxDeliveryCount;
     }
 
@@ -38,6 +49,9 @@ public class NotificationMessageProcessor {
     public void processNextMessage(ServiceBusReceivedMessageContext messageContext) {
         ServiceBusReceivedMessage message = messageContext.getMessage();
         if (message != null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            // left as is only if settling the message throws
+            String result = "error";
             try {
                 // DO NOT CHANGE, used in alert
                 log.info("Started processing notification message with ID {}", message.getMessageId());
@@ -49,14 +63,25 @@ public class NotificationMessageProcessor {
                 var notificationMsg = notificationMessageParser.parse(message.getBody());
                 notificationMessageHandler.handleNotificationMessage(notificationMsg, message.getMessageId());
                 finaliseProcessedMessage(messageContext, MessageProcessingResult.SUCCESS);
+                result = MessageProcessingResult.SUCCESS.tag();
             } catch (InvalidMessageException ex) {
                 log.error("Invalid notification message with ID: {} ", message.getMessageId(), ex);
                 finaliseProcessedMessage(messageContext, MessageProcessingResult.UNRECOVERABLE_FAILURE);
+                result = MessageProcessingResult.UNRECOVERABLE_FAILURE.tag();
             } catch (DuplicateMessageIdException ex) {
                 handleDuplicateMessageId(messageContext, ex.getMessage());
+                result = "duplicate";
             } catch (Exception ex) {
                 log.error("Failed to process notification message with ID: {} ", message.getMessageId(), ex);
                 finaliseProcessedMessage(messageContext, MessageProcessingResult.POTENTIALLY_RECOVERABLE_FAILURE);
+                result = MessageProcessingResult.POTENTIALLY_RECOVERABLE_FAILURE.tag();
+            } finally {
+                sample.stop(
+                    Timer.builder("notification.message.processing")
+                        .description("Time taken to handle a notification message received from the queue")
+                        .tag("result", result)
+                        .register(meterRegistry)
+                );
             }
         } else {
             log.error("Triggered notification queue process but there is no message !!!");
@@ -166,6 +191,10 @@ public class NotificationMessageProcessor {
     private enum MessageProcessingResult {
         SUCCESS,
         UNRECOVERABLE_FAILURE,
-        POTENTIALLY_RECOVERABLE_FAILURE
+        POTENTIALLY_RECOVERABLE_FAILURE;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
     }
 }
@@ -4,28 +4,58 @@ import feign.FeignException;
 import feign.FeignException.BadRequest;
 import feign.FeignException.UnprocessableEntity;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationClient;
-import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationClientSecondary;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationRequest;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationResponse;
+import uk.gov.hmcts.reform.notificationservice.clients.SupplierNotificationClient;
 import uk.gov.hmcts.reform.notificationservice.config.SecondaryClientJurisdictionsConfig;
+import uk.gov.hmcts.reform.notificationservice.data.DispatchCheckpointRepository;
 import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
 import uk.gov.hmcts.reform.notificationservice.data.Notification;
 import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
+import uk.gov.hmcts.reform.notificationservice.exception.ConcurrencyLimitExceededException;
 import uk.gov.hmcts.reform.notificationservice.exception.FailedDependencyException;
 import uk.gov.hmcts.reform.notificationservice.exception.NotFoundException;
+import uk.gov.hmcts.reform.notificationservice.exception.SupplierUnavailableException;
 import uk.gov.hmcts.reform.notificationservice.model.in.NotifyRequest;
 import uk.gov.hmcts.reform.notificationservice.model.out.NotificationInfo;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.BackoffPolicy;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.CoalescedNotification;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.DispatchOutcome;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.DispatchSummary;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.DispatchTimeBudget;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.FairShareScheduler;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.NotificationStatusWriter;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.PendingNotificationDispatcher;
 import uk.gov.hmcts.reform.notificationservice.util.NotificationConverter;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 @Service
@@ -33,69 +63,212 @@ public class NotificationService {
 
     private static final Logger log = getLogger(NotificationService.class);
 
+    static final String PENDING_NOTIFICATIONS_CHECKPOINT = "pending-notifications";
+
     private final NotificationRepository notificationRepository;
 
-    private final ErrorNotificationClient notificationClient;
-    private final ErrorNotificationClientSecondary notificationClientSecondary;
+    private final SupplierNotificationClient supplierNotificationClient;
 
     private final String[] secondaryClientJurisdictions;
 
+    private final PendingNotificationDispatcher pendingNotificationDispatcher;
+    private final NotificationStatusWriter notificationStatusWriter;
+    private final BackoffPolicy backoffPolicy;
+    private final DispatchTimeBudget dispatchTimeBudget;
+    private final DispatchCheckpointRepository dispatchCheckpointRepository;
+    private final FairShareScheduler fairShareScheduler;
+    private final int bulkMaxSize;
+    private final Duration claimLease;
+
     public NotificationService(
             NotificationRepository notificationRepository,
-            ErrorNotificationClient notificationClient,
-            ErrorNotificationClientSecondary notificationClientSecondary,
-            SecondaryClientJurisdictionsConfig secondaryClientJurisdictions
+            SupplierNotificationClient supplierNotificationClient,
+            SecondaryClientJurisdictionsConfig secondaryClientJurisdictions,
+            PendingNotificationDispatcher pendingNotificationDispatcher,
+            NotificationStatusWriter notificationStatusWriter,
+            BackoffPolicy backoffPolicy,
+            DispatchTimeBudget dispatchTimeBudget,
+            DispatchCheckpointRepository dispatchCheckpointRepository,
+            FairShareScheduler fairShareScheduler,
+            @Value("${clients.error-notifications.bulk.max-size:50}") int bulkMaxSize,
+            @Value("${scheduling.task.pending-notifications.claim.lease:PT5M}") Duration claimLease
     ) {
         this.notificationRepository = notificationRepository;
-        this.notificationClient = notificationClient;
-        this.notificationClientSecondary = notificationClientSecondary;
+        this.supplierNotificationClient = supplierNotificationClient;
         this.secondaryClientJurisdictions = secondaryClientJurisdictions.getJurisdictionList();;
+        this.pendingNotificationDispatcher = pendingNotificationDispatcher;
+        this.notificationStatusWriter = notificationStatusWriter;
+        this.backoffPolicy = backoffPolicy;
+        this.dispatchTimeBudget = dispatchTimeBudget;
+        this.dispatchCheckpointRepository = dispatchCheckpointRepository;
+        this.fairShareScheduler = fairShareScheduler;
+        this.bulkMaxSize = bulkMaxSize;
+        this.claimLease = claimLease;
     }
 
+    /**
+     * Sends pending notifications batch by batch, each service resuming after the checkpoint left by the previous run
+     * if there is one. Each batch is shared between the services with pending notifications by the
+     * {@link FairShareScheduler}, so a service with a large backlog does not hold the others up.
+     * The next batch is read without waiting for the previous one to be sent, so a slow supplier only holds up its own
+     * notifications. Stops taking on new work once the run's time budget is used up, or when all suppliers are
+     * unavailable, and leaves checkpoints for the next run to resume from. A service's checkpoint only moves past
+     * batches in which no notification was skipped, e.g. because the run was out of time or the supplier's circuit
+     * breaker was open, and is cleared once all its pending notifications were sent.
+     */
     public void processPendingNotifications() { //TODO: FACT-2026
-        List<Notification> notifications = notificationRepository.findPending();
-
-        log.info("Number of notifications to process: {}", notifications.size());
+        DispatchSummary summary = new DispatchSummary();
+        Instant deadline = dispatchTimeBudget.deadlineFromNow();
+        FairShareScheduler.Allocation allocation = fairShareScheduler.startRun();
 
-        var okCount = 0;
-        var failedCount = 0;
-        var postponedCount = 0;
+        Map<String, Long> lastIds = new LinkedHashMap<>();
+        for (String service : notificationRepository.findPendingServices()) {
+            long lastId = dispatchCheckpointRepository.find(checkpointName(service));
+            if (lastId > 0) {
+                log.info("Resuming pending notifications of service {} after notification ID: {}", service, lastId);
+            }
+            lastIds.put(service, lastId);
+        }
 
-        for (var notification : notifications) {
+        // read ahead of the checkpoints, which only move once the batches read have been sent
+        Map<String, Long> cursors = new LinkedHashMap<>(lastIds);
+        Set<String> undrained = new LinkedHashSet<>(lastIds.keySet());
+        List<DispatchedBatch> batches = new ArrayList<>();
+        while (!undrained.isEmpty() && hasTimeLeft(deadline) && anySupplierAvailable()) {
+            Map<String, List<Notification>> pages = new LinkedHashMap<>();
+            allocation.nextQuotas(undrained).forEach((service, quota) -> {
+                if (quota > 0) {
+                    List<Notification> page = notificationRepository.findPendingPage(
+                        service, cursors.get(service), quota
+                    );
+                    pages.put(service, page);
+                    if (page.size() < quota) {
+                        undrained.remove(service);
+                    }
+                }
+            });
 
-            try {
-                log.info("Sending error notification: {}", notification);
-                ErrorNotificationResponse response = notification.client.equals("primary")
-                    ? notificationClient.notify(mapToRequest(notification))
-                    : notificationClientSecondary.notify(mapToRequest(notification));
+            Map<String, Long> pageEnds = new LinkedHashMap<>();
+            pages.forEach((service, page) -> {
+                if (!page.isEmpty()) {
+                    pageEnds.put(service, page.get(page.size() - 1).id);
+                }
+            });
+            cursors.putAll(pageEnds);
 
-                notificationRepository.markAsSent(notification.id, response.getNotificationId());
+            List<Notification> notifications = interleave(pages.values());
+            if (!notifications.isEmpty()) {
+                log.info("Number of notifications to process: {}", notifications.size());
 
-                log.info(
-                    "Error notification sent. {}. Notification ID: {}",
-                    notification,
-                    response.getNotificationId()
-                );
-                okCount++;
-
-            } catch (BadRequest | UnprocessableEntity exception) {
-                fail(notification, exception);
-                failedCount++;
-
-            } catch (FeignException exception) {
-                postpone(notification, exception);
-                postponedCount++;
-            } catch (Exception e) {
-                postpone(notification, e);
-                postponedCount++;
+                // batch with skipped notifications is read again by the next run
+                DispatchSummary batchSummary = new DispatchSummary();
+                batches.add(new DispatchedBatch(
+                    pageEnds,
+                    batchSummary,
+                    dispatch(notifications, deadline, batchSummary)
+                ));
             }
         }
 
+        Set<String> cutShort = new HashSet<>();
+        for (var batch : batches) {
+            batch.sent.join();
+            summary.add(batch.summary);
+            boolean complete = batch.summary.getSkippedCount() == 0;
+            batch.pageEnds.forEach((service, lastId) -> {
+                if (!complete) {
+                    cutShort.add(service);
+                } else if (!cutShort.contains(service)) {
+                    lastIds.put(service, lastId);
+                }
+            });
+        }
+
+        notificationStatusWriter.flushQuietly();
+
+        lastIds.forEach((service, lastId) -> {
+            if (undrained.contains(service) || cutShort.contains(service)) {
+                dispatchCheckpointRepository.save(checkpointName(service), lastId);
+            } else {
+                dispatchCheckpointRepository.clear(checkpointName(service));
+            }
+        });
+
         log.info(
             "Finished sending notifications. OK: {}, Failed: {}, Postponed: {}",
-            okCount,
-            failedCount,
-            postponedCount
+            summary.getOkCount(),
+            summary.getFailedCount(),
+            summary.getPostponedCount()
+        );
+    }
+
+    /**
+     * Claims batches of pending notifications for this node and sends them until there is nothing left to claim.
+     * Unlike {@link #processPendingNotifications()} this is safe to run on several nodes at the same time.
+     * Postponed notifications are released and not picked up again until their next attempt is due.
+     * The next batch is claimed without waiting for the previous one to be sent, until the notifications claimed but
+     * not sent yet would fill a dispatch lane.
+     * @param owner identifier of the node claiming the notifications
+     */
+    public void processClaimedNotifications(String owner) { //TODO: FACT-2026
+        DispatchSummary summary = new DispatchSummary();
+        ClaimedBatches claimed = new ClaimedBatches(owner);
+        List<Notification> notifications = anySupplierAvailable()
+            ? notificationRepository.claimPending(owner)
+            : emptyList();
+
+        while (!notifications.isEmpty()) {
+            log.info("Number of claimed notifications to process: {}", notifications.size());
+
+            claimed.add(notifications, dispatch(notifications, Instant.MAX, summary));
+            claimed.awaitFewerThan(pendingNotificationDispatcher.getQueueCapacity());
+
+            notifications = anySupplierAvailable()
+                ? notificationRepository.claimPending(owner)
+                : emptyList();
+        }
+
+        claimed.awaitFewerThan(1);
+        notificationStatusWriter.flushQuietly();
+
+        log.info(
+            "Finished sending claimed notifications. OK: {}, Failed: {}, Postponed: {}",
+            summary.getOkCount(),
+            summary.getFailedCount(),
+            summary.getPostponedCount()
+        );
+    }
+
+    /**
+     * Claims the given newly inserted notifications and sends them straight away, without waiting for the send delay.
+     * Notifications which were sent or claimed by then are skipped. Notifications which can not be sent now are left
+     * for the pending notifications task, the same as any other pending notification.
+     * @param ids IDs of the notifications to send
+     * @param owner identifier of the node claiming the notifications
+     */
+    public void processEagerNotifications(Collection<Long> ids, String owner) { //TODO: FACT-2026
+        if (!anySupplierAvailable()) {
+            return;
+        }
+
+        List<Notification> notifications = notificationRepository.claimByIds(ids, owner);
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        DispatchSummary summary = new DispatchSummary();
+        log.info("Number of eagerly dispatched notifications to process: {}", notifications.size());
+
+        ClaimedBatches claimed = new ClaimedBatches(owner);
+        claimed.add(notifications, dispatch(notifications, Instant.MAX, summary));
+        claimed.awaitFewerThan(1);
+        notificationStatusWriter.flushQuietly();
+
+        log.info(
+            "Finished sending eagerly dispatched notifications. OK: {}, Failed: {}, Postponed: {}",
+            summary.getOkCount(),
+            summary.getFailedCount(),
+            summary.getPostponedCount()
         );
     }
 
@@ -141,11 +314,13 @@ public class NotificationService {
      * database which is then saved.
      * Then an attempt is made to notify the supplier which returns an ID. The saved notification is then updated with
      * this ID.
+     * Runs without a surrounding transaction, so no database connection is held while waiting for a permit to call
+     * the supplier or for its response. The notification is saved as created, which the pending notifications task
+     * does not pick up, and is left as failed if the supplier could not be notified.
      * @param notifyRequest the notification information that should be saved to the database and sent to the supplier
      * @return the info of the saved notification
      * @throws FailedDependencyException if there is an issue trying to notify the supplier
      */
-    @Transactional
     public NotificationInfo saveNotificationMsg(NotifyRequest notifyRequest) {
         String jurisdiction = Objects.requireNonNullElse(notifyRequest.jurisdiction, "").toLowerCase(Locale.ROOT);
         String client = Arrays.asList(secondaryClientJurisdictions).contains(jurisdiction) ? "secondary" : "primary";
@@ -155,9 +330,10 @@ public class NotificationService {
         log.info("New request has been received to notify an external supplier. Notification ID: "
                      + notificationFromDb.id);
         try {
-            ErrorNotificationResponse response = newNotificationForDb.client.equals("primary")
-                ? notificationClient.notify(mapToRequest(notificationFromDb))
-                : notificationClientSecondary.notify(mapToRequest(notificationFromDb));
+            ErrorNotificationResponse response = supplierNotificationClient.notify(
+                newNotificationForDb.client,
+                mapToRequest(notificationFromDb)
+            );
             log.info(String.format("New request has been received to notify an external supplier. Notification ID: %s. "
                                        + "Supplier ID: %s", notificationFromDb.id, notificationFromDb.confirmationId));
             //Update notification as Sent if Exela ok
@@ -179,6 +355,278 @@ public class NotificationService {
         }
     }
 
+    private static String checkpointName(String service) { //TODO: FACT-2026
+        return PENDING_NOTIFICATIONS_CHECKPOINT + ":" + service;
+    }
+
+    /**
+     * Takes one notification from each service's page in turn, so no service's notifications queue up
+     * behind another's once the batch is handed over to the dispatcher.
+     */
+    private static List<Notification> interleave(Collection<List<Notification>> pages) { //TODO: FACT-2026
+        List<Iterator<Notification>> iterators = new ArrayList<>();
+        pages.forEach(page -> iterators.add(page.iterator()));
+        List<Notification> notifications = new ArrayList<>();
+
+        iterators.removeIf(iterator -> !iterator.hasNext());
+        while (!iterators.isEmpty()) {
+            iterators.forEach(iterator -> notifications.add(iterator.next()));
+            iterators.removeIf(iterator -> !iterator.hasNext());
+        }
+
+        return notifications;
+    }
+
+    private boolean hasTimeLeft(Instant deadline) { //TODO: FACT-2026
+        boolean timeLeft = Instant.now().isBefore(deadline);
+        if (!timeLeft) {
+            log.warn("Time budget of the run is used up. Remaining pending notifications are left for the next run");
+        }
+        return timeLeft;
+    }
+
+    private boolean anySupplierAvailable() { //TODO: FACT-2026
+        boolean available = supplierNotificationClient.isAvailable("primary")
+            || supplierNotificationClient.isAvailable("secondary");
+        if (!available) {
+            log.warn("Circuit breakers are open for all suppliers. Skipping remaining pending notifications");
+        }
+        return available;
+    }
+
+    private CompletableFuture<Void> dispatch(
+        List<Notification> notifications,
+        Instant deadline,
+        DispatchSummary summary
+    ) { //TODO: FACT-2026
+        List<CoalescedNotification> coalesced = CoalescedNotification.coalesce(notifications);
+        if (coalesced.size() < notifications.size()) {
+            log.info("Coalesced {} duplicate notifications", notifications.size() - coalesced.size());
+        }
+
+        List<CoalescedNotification> remaining = supplierNotificationClient.isBulkEnabled()
+            ? sendInBulk(coalesced, deadline, summary)
+            : coalesced;
+        Map<Long, CoalescedNotification> byId = remaining
+            .stream()
+            .collect(toMap(group -> group.notification.id, group -> group));
+
+        return pendingNotificationDispatcher.dispatchAsync(
+            remaining.stream().map(group -> group.notification).toList(),
+            notification -> sendPendingNotification(byId.get(notification.id), deadline),
+            summary
+        );
+    }
+
+    /**
+     * Sends notifications to their suppliers in bulk calls of up to the configured size.
+     * Notifications of a bulk call which failed on the supplier's side, e.g. with a server error or a timeout,
+     * are postponed with backoff rather than sent one by one.
+     * @return notifications which were not sent in bulk and should be sent one by one,
+     *     e.g. because the supplier does not support the bulk call or did not accept some of the notifications
+     */
+    private List<CoalescedNotification> sendInBulk(
+        List<CoalescedNotification> notifications,
+        Instant deadline,
+        DispatchSummary summary
+    ) { //TODO: FACT-2026
+        List<CoalescedNotification> oneByOne = new ArrayList<>();
+        Map<String, List<CoalescedNotification>> byClient = notifications
+            .stream()
+            .collect(groupingBy(group -> group.notification.client, LinkedHashMap::new, toList()));
+
+        byClient.forEach((client, clientNotifications) -> {
+            for (int from = 0; from < clientNotifications.size(); from += bulkMaxSize) {
+                List<CoalescedNotification> chunk = clientNotifications.subList(
+                    from,
+                    Math.min(from + bulkMaxSize, clientNotifications.size())
+                );
+
+                if (Instant.now().isBefore(deadline) && supplierNotificationClient.isAvailable(client)) {
+                    oneByOne.addAll(sendChunk(client, chunk, summary));
+                } else {
+                    // postponed by the one by one path without calling the supplier
+                    oneByOne.addAll(chunk);
+                }
+            }
+        });
+
+        return oneByOne;
+    }
+
+    private List<CoalescedNotification> sendChunk(
+        String client,
+        List<CoalescedNotification> chunk,
+        DispatchSummary summary
+    ) { //TODO: FACT-2026
+        Map<String, String> notificationIds;
+        try {
+            log.info("Sending {} error notifications to {} supplier in bulk", chunk.size(), client);
+            notificationIds = supplierNotificationClient.notifyBulk(
+                client,
+                chunk.stream().map(group -> mapToRequest(group.notification)).toList()
+            );
+        } catch (FeignException exception) {
+            if (!isBulkCallUnsupported(exception)) {
+                log.error(
+                    "Bulk call to {} supplier failed with http status {}. Postponing {} notifications for later",
+                    client,
+                    exception.status(),
+                    chunk.size(),
+                    exception
+                );
+                return retryChunkLater(chunk, summary);
+            }
+
+            log.warn(
+                "Bulk call to {} supplier was rejected with http status {}. Sending {} notifications one by one",
+                client,
+                exception.status(),
+                chunk.size(),
+                exception
+            );
+            return chunk;
+        } catch (SupplierUnavailableException exc) {
+            // postponed by the one by one path without calling the supplier
+            return chunk;
+        } catch (ConcurrencyLimitExceededException exc) {
+            log.warn("{}. Postponing {} notifications for later", exc.getMessage(), chunk.size());
+            chunk.forEach(group -> summary.record(DispatchOutcome.SKIPPED));
+            return emptyList();
+        } catch (Exception exc) {
+            log.error(
+                "Bulk call to {} supplier failed. Postponing {} notifications for later",
+                client,
+                chunk.size(),
+                exc
+            );
+            return retryChunkLater(chunk, summary);
+        }
+
+        List<CoalescedNotification> notAccepted = new ArrayList<>();
+        for (var group : chunk) {
+            String notificationId = notificationIds.get(String.valueOf(group.notification.id));
+            if (notificationId == null) {
+                notAccepted.add(group);
+            } else {
+                summary.record(onSent(group, notificationId));
+            }
+        }
+
+        if (!notAccepted.isEmpty()) {
+            log.warn(
+                "{} supplier did not accept {} notifications of the bulk call. Sending them one by one",
+                client,
+                notAccepted.size()
+            );
+        }
+        return notAccepted;
+    }
+
+    /**
+     * Tells whether the supplier turned down the bulk call itself rather than failed to handle it, e.g. because it
+     * does not offer the bulk endpoint or could not read the bulk request. Its notifications may still be accepted
+     * one by one, unlike after a server error or timeout, which the one by one calls would only repeat.
+     */
+    private static boolean isBulkCallUnsupported(FeignException exception) { //TODO: FACT-2026
+        return exception instanceof FeignException.BadRequest
+            || exception instanceof FeignException.NotFound
+            || exception instanceof FeignException.MethodNotAllowed
+            || exception instanceof FeignException.UnsupportedMediaType
+            || exception instanceof FeignException.NotImplemented;
+    }
+
+    private List<CoalescedNotification> retryChunkLater(
+        List<CoalescedNotification> chunk,
+        DispatchSummary summary
+    ) { //TODO: FACT-2026
+        chunk.forEach(group -> summary.record(retryLater(group)));
+        return emptyList();
+    }
+
+    private CompletableFuture<DispatchOutcome> sendPendingNotification(
+        CoalescedNotification group,
+        Instant deadline
+    ) { //TODO: FACT-2026
+        if (!Instant.now().isBefore(deadline)) {
+            // run is out of time, leave the notification for the next run without calling the supplier
+            return CompletableFuture.completedFuture(DispatchOutcome.SKIPPED);
+        }
+
+        return sendPendingNotification(group);
+    }
+
+    private CompletableFuture<DispatchOutcome> sendPendingNotification(CoalescedNotification group) { //TODO: FACT-2026
+        Notification notification = group.notification;
+        if (!supplierNotificationClient.isAvailable(notification.client)) {
+            // supplier is known to be down, leave the notification for a later run without calling it
+            return CompletableFuture.completedFuture(DispatchOutcome.SKIPPED);
+        }
+
+        log.info("Sending error notification: {}", notification);
+        // statuses are written on the lane, not on the thread of the http client which completed the call
+        return supplierNotificationClient
+            .notifyAsync(notification.client, mapToRequest(notification))
+            .handleAsync(
+                (response, failure) -> failure == null
+                    ? onSent(group, response.getNotificationId())
+                    : onSendFailure(group, failure),
+                pendingNotificationDispatcher.laneFor(notification.client)
+            );
+    }
+
+    private DispatchOutcome onSent(CoalescedNotification group, String notificationId) { //TODO: FACT-2026
+        notificationStatusWriter.markAsSent(group.notification.id, notificationId);
+        for (var duplicate : group.duplicates) {
+            notificationStatusWriter.markAsCoalesced(duplicate.id, notificationId, group.notification.id);
+        }
+
+        log.info(
+            "Error notification sent. {}. Notification ID: {}. Duplicates: {}",
+            group.notification,
+            notificationId,
+            group.duplicates.size()
+        );
+        return DispatchOutcome.SENT;
+    }
+
+    private DispatchOutcome onSendFailure(CoalescedNotification group, Throwable failure) { //TODO: FACT-2026
+        Notification notification = group.notification;
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+
+        if (cause instanceof BadRequest || cause instanceof UnprocessableEntity) {
+            fail(group, (FeignException.FeignClientException) cause);
+            return DispatchOutcome.FAILED;
+        } else if (cause instanceof FeignException exception) {
+            postpone(notification, exception);
+            return retryLater(group);
+        } else if (cause instanceof SupplierUnavailableException
+            || cause instanceof ConcurrencyLimitExceededException) {
+            log.warn("{}. Postponing notification for later. {}", cause.getMessage(), notification);
+            return DispatchOutcome.SKIPPED;
+        } else {
+            postpone(notification, cause);
+            return retryLater(group);
+        }
+    }
+
+    private DispatchOutcome retryLater(CoalescedNotification group) { //TODO: FACT-2026
+        Notification notification = group.notification;
+        int attempts = notification.attemptCount + 1;
+        if (backoffPolicy.isExhausted(attempts)) {
+            log.error("Giving up on notification after {} attempts. Marking as failure. {}", attempts, notification);
+            group.members().forEach(member -> notificationStatusWriter.markAsFailure(member.id));
+            return DispatchOutcome.FAILED;
+        }
+
+        // duplicates would fail the same way, so they wait for the same next attempt
+        Duration delay = backoffPolicy.delayFor(attempts);
+        group.members().forEach(member -> notificationStatusWriter.markAsPostponed(member.id, delay));
+        return DispatchOutcome.POSTPONED;
+    }
+
     private ErrorNotificationRequest mapToRequest(Notification notification) {
         return new ErrorNotificationRequest(
             notification.zipFileName,
@@ -189,16 +637,16 @@ public class NotificationService {
         );
     }
 
-    private void fail(Notification notification, FeignException.FeignClientException exception) { //TODO: FACT-2026
+    private void fail(CoalescedNotification group, FeignException.FeignClientException exception) { //TODO: FACT-2026
         log.error(
             "Received http status {} from client. Marking as failure. {}. Client response: {}",
             exception.status(),
-            notification,
+            group.notification,
             exception.contentUTF8(),
             exception
         );
 
-        notificationRepository.markAsFailure(notification.id);
+        group.members().forEach(member -> notificationStatusWriter.markAsFailure(member.id));
     }
 
     private void postpone(Notification notification, FeignException exception) { //TODO: FACT-2026
@@ -211,7 +659,95 @@ public class NotificationService {
         );
     }
 
-    private void postpone(Notification notification, Exception exc) { //TODO: FACT-2026
+    private void postpone(Notification notification, Throwable exc) { //TODO: FACT-2026
         log.error("Error processing pending notifications. {}", notification, exc);
     }
+
+    /**
+     * Batch handed over to the dispatcher, with the last notification ID read for each service.
+     */
+    //TODO: FACT-2026
+    private static final class DispatchedBatch {
+
+        private final Map<String, Long> pageEnds;
+        private final DispatchSummary summary;
+        private final CompletableFuture<Void> sent;
+
+        private DispatchedBatch(Map<String, Long> pageEnds, DispatchSummary summary, CompletableFuture<Void> sent) {
+            this.pageEnds = pageEnds;
+            this.summary = summary;
+            this.sent = sent;
+        }
+    }
+
+    /**
+     * Claimed notifications handed over to the dispatcher. Their claims are renewed while waiting for them to be sent,
+     * so that no other node claims and sends them again once the lease they were claimed with runs out.
+     */
+    //TODO: FACT-2026
+    private final class ClaimedBatches {
+
+        private final String owner;
+        private final List<ClaimedBatch> batches = new ArrayList<>();
+        private Instant renewAt;
+
+        private ClaimedBatches(String owner) {
+            this.owner = owner;
+            this.renewAt = Instant.now().plus(claimLease.dividedBy(2));
+        }
+
+        private void add(List<Notification> notifications, CompletableFuture<Void> sent) {
+            batches.add(new ClaimedBatch(notifications.stream().map(notification -> notification.id).toList(), sent));
+        }
+
+        /**
+         * Waits until fewer than the given number of claimed notifications are still being sent.
+         */
+        private void awaitFewerThan(int limit) {
+            batches.removeIf(batch -> batch.sent.isDone());
+            while (countInFlight() >= limit) {
+                if (!Instant.now().isBefore(renewAt)) {
+                    renew();
+                }
+
+                try {
+                    batches.get(0).sent.get(
+                        Math.max(1, Duration.between(Instant.now(), renewAt).toMillis()),
+                        TimeUnit.MILLISECONDS
+                    );
+                } catch (TimeoutException exc) {
+                    renew();
+                } catch (ExecutionException exc) {
+                    throw new IllegalStateException("Failed waiting for claimed notifications", exc.getCause());
+                } catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for claimed notifications to be sent", exc);
+                }
+                batches.removeIf(batch -> batch.sent.isDone());
+            }
+        }
+
+        private int countInFlight() {
+            return batches.stream().mapToInt(batch -> batch.ids.size()).sum();
+        }
+
+        private void renew() {
+            List<Long> ids = batches.stream().flatMap(batch -> batch.ids.stream()).toList();
+            int renewed = notificationRepository.renewClaims(ids, owner);
+            log.info("Renewed claims on {} of {} notifications still being sent", renewed, ids.size());
+            renewAt = Instant.now().plus(claimLease.dividedBy(2));
+        }
+    }
+
+    //TODO: FACT-2026
+    private static final class ClaimedBatch {
+
+        private final List<Long> ids;
+        private final CompletableFuture<Void> sent;
+
+        private ClaimedBatch(List<Long> ids, CompletableFuture<Void> sent) {
+            this.ids = ids;
+            this.sent = sent;
+        }
+    }
 }
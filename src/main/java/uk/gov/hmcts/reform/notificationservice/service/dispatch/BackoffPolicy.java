@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when a notification which could not be sent should be tried again, and when to give up on it.
+ * The delay doubles with every attempt, starting from the initial delay and capped at the max delay.
+ * A random part of the delay (up to the jitter ratio) is taken off, so notifications which failed together
+ * are not all retried at the same moment.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class BackoffPolicy {
+
+    // enough doublings to reach any sensible max delay, without overflowing the multiplier
+    private static final int MAX_DOUBLINGS = 30;
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final int maxAttempts;
+
+    public BackoffPolicy(
+        @Value("${scheduling.task.pending-notifications.retry.initial-delay:PT1M}") Duration initialDelay,
+        @Value("${scheduling.task.pending-notifications.retry.max-delay:PT6H}") Duration maxDelay,
+        @Value("${scheduling.task.pending-notifications.retry.jitter:0.5}") double jitter,
+        @Value("${scheduling.task.pending-notifications.retry.max-attempts:20}") int maxAttempts
+    ) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1, was: " + jitter);
+        }
+
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Checks whether a notification should no longer be retried.
+     * @param attempts number of attempts made so far, including the one which has just failed
+     * @return true if no more attempts should be made
+     */
+    public boolean isExhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    /**
+     * Calculates how long to wait before the next attempt.
+     * @param attempts number of attempts made so far, including the one which has just failed
+     * @return delay before the next attempt
+     */
+    public Duration delayFor(int attempts) {
+        int doublings = Math.clamp(attempts - 1L, 0, MAX_DOUBLINGS);
+        long delayMillis = Math.min(initialDelay.toMillis() << doublings, maxDelay.toMillis());
+        long jitterMillis = (long) (delayMillis * jitter * ThreadLocalRandom.current().nextDouble());
+
+        return Duration.ofMillis(delayMillis - jitterMillis);
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import uk.gov.hmcts.reform.notificationservice.data.Notification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Identical pending notifications - same client, zip file, PO box, service and error - which are sent
+ * to the supplier as a single notification. Upstream retries and re-scans often leave several of them pending.
+ * The first one is sent, the duplicates share its outcome and are linked to it once sent.
+ */
+//TODO: FACT-2026 - whole class can go
+public class CoalescedNotification {
+
+    public final Notification notification;
+    public final List<Notification> duplicates;
+
+    public CoalescedNotification(Notification notification, List<Notification> duplicates) {
+        this.notification = notification;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * Groups identical notifications of a batch.
+     * @param notifications notifications of the batch, in the order they should be sent
+     * @return one entry per group, in the order of the first notification of each group
+     */
+    public static List<CoalescedNotification> coalesce(List<Notification> notifications) {
+        Map<List<Object>, List<Notification>> groups = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+
+        for (var notification : notifications) {
+            if (seenIds.add(notification.id)) {
+                groups.computeIfAbsent(keyOf(notification), key -> new ArrayList<>()).add(notification);
+            }
+        }
+
+        return groups
+            .values()
+            .stream()
+            .map(group -> new CoalescedNotification(group.get(0), List.copyOf(group.subList(1, group.size()))))
+            .toList();
+    }
+
+    /**
+     * Lists the sent notification and its duplicates.
+     * @return all notifications of the group
+     */
+    public List<Notification> members() {
+        List<Notification> members = new ArrayList<>(duplicates.size() + 1);
+        members.add(notification);
+        members.addAll(duplicates);
+
+        return members;
+    }
+
+    // fields from which the supplier request is built, plus the ones deciding where it is sent
+    private static List<Object> keyOf(Notification notification) {
+        return Arrays.asList(
+            notification.client,
+            notification.zipFileName,
+            notification.poBox,
+            notification.service,
+            notification.errorCode,
+            notification.errorDescription
+        );
+    }
+}
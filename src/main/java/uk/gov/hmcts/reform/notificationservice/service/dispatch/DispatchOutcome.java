@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+//TODO: FACT-2026 - whole class can go
+public enum DispatchOutcome {
+
+    SENT,
+    FAILED,
+    POSTPONED,
+    // left pending as it is without calling the supplier, e.g. when the run is out of time or the supplier is down
+    SKIPPED
+}
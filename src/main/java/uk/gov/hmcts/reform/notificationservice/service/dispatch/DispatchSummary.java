@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the outcomes of a single dispatch run. Safe to update from several workers at once.
+ */
+//TODO: FACT-2026 - whole class can go
+public class DispatchSummary {
+
+    private final AtomicInteger okCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final AtomicInteger postponedCount = new AtomicInteger();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+
+    public void record(DispatchOutcome outcome) {
+        switch (outcome) {
+            case SENT -> okCount.incrementAndGet();
+            case FAILED -> failedCount.incrementAndGet();
+            case POSTPONED -> postponedCount.incrementAndGet();
+            case SKIPPED -> {
+                postponedCount.incrementAndGet();
+                skippedCount.incrementAndGet();
+            }
+            default -> throw new IllegalArgumentException("Unknown dispatch outcome: " + outcome);
+        }
+    }
+
+    /**
+     * Adds the outcomes counted by another summary, e.g. of a single batch, to this one.
+     * @param other summary to add
+     */
+    public void add(DispatchSummary other) {
+        okCount.addAndGet(other.getOkCount());
+        failedCount.addAndGet(other.getFailedCount());
+        postponedCount.addAndGet(other.getPostponedCount());
+        skippedCount.addAndGet(other.getSkippedCount());
+    }
+
+    public int getOkCount() {
+        return okCount.get();
+    }
+
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the number of notifications postponed, including the ones skipped.
+     */
+    public int getPostponedCount() {
+        return postponedCount.get();
+    }
+
+    public int getSkippedCount() {
+        return skippedCount.get();
+    }
+}
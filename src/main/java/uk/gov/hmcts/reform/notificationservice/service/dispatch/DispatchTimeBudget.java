@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Time a dispatch run may spend taking on new work.
+ * Derived from how long the scheduler lock is held at most, less a margin for the calls still in flight and the
+ * final status writes, so that the run is finished before another node can take the lock over.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class DispatchTimeBudget {
+
+    private final Duration budget;
+
+    public DispatchTimeBudget(
+        @Value("${scheduling.lock_at_most_for}") Duration lockAtMostFor,
+        @Value("${scheduling.task.pending-notifications.lock-margin:PT2M}") Duration margin
+    ) {
+        if (margin.compareTo(lockAtMostFor) > 0) {
+            throw new IllegalArgumentException(
+                String.format("Lock margin %s must not be longer than lock at most for %s", margin, lockAtMostFor)
+            );
+        }
+
+        this.budget = lockAtMostFor.minus(margin);
+    }
+
+    /**
+     * Gives the point in time after which a run starting now should not take on new work.
+     * @return deadline of a run starting now
+     */
+    public Instant deadlineFromNow() {
+        return Instant.now().plus(budget);
+    }
+}
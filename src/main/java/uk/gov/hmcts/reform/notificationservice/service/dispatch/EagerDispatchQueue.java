@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+import uk.gov.hmcts.reform.notificationservice.service.NotificationService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends newly received notifications to the supplier straight away, instead of after the send delay, for the error
+ * codes and services configured for it.
+ * Notification IDs are queued once the inserting transaction commits and a worker claims and sends them. The queue is
+ * bounded and held in memory only: a notification which does not fit, or is lost on shutdown, is still pending in the
+ * database and sent by the pending notifications task as usual.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+@ConditionalOnProperty(name = "scheduling.task.pending-notifications.eager.enabled", havingValue = "true")
+public class EagerDispatchQueue implements SmartLifecycle {
+
+    private static final Logger log = getLogger(EagerDispatchQueue.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 1_000;
+
+    private final NotificationService notificationService;
+    private final Set<ErrorCode> errorCodes = EnumSet.noneOf(ErrorCode.class);
+    private final Set<String> services = new HashSet<>();
+    private final BlockingQueue<Long> queue;
+    private final int batchSize;
+    private final String owner;
+
+    private volatile boolean running;
+    private Thread workerThread;
+
+    /**
+     * Reads which notifications are sent eagerly from configuration.
+     * A notification is sent eagerly if either its error code or its service is listed.
+     * @param errorCodes comma separated error codes, e.g. ERR_AV_FAILED,ERR_FILE_LIMIT_EXCEEDED
+     * @param services comma separated services, e.g. bulkscan,probate
+     * @param queueCapacity maximum number of notifications waiting to be sent eagerly
+     * @param batchSize maximum number of notifications claimed and sent together
+     */
+    public EagerDispatchQueue(
+        NotificationService notificationService,
+        @Value("${scheduling.task.pending-notifications.eager.error-codes:}") String errorCodes,
+        @Value("${scheduling.task.pending-notifications.eager.services:}") String services,
+        @Value("${scheduling.task.pending-notifications.eager.queue-capacity:1000}") int queueCapacity,
+        @Value("${scheduling.task.pending-notifications.eager.batch-size:50}") int batchSize
+    ) {
+        this.notificationService = notificationService;
+        split(errorCodes).forEach(
+            errorCode -> this.errorCodes.add(ErrorCode.valueOf(errorCode.toUpperCase(Locale.ROOT)))
+        );
+        split(services).forEach(service -> this.services.add(service.toLowerCase(Locale.ROOT)));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        // unique per process, so a restarted pod does not pick up claims of its previous instance as its own
+        this.owner = Objects.requireNonNullElse(System.getenv("HOSTNAME"), "node") + "-eager-" + UUID.randomUUID();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        workerThread = new Thread(this::dispatchContinuously, "eager-dispatch-worker");
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Checks whether the notification is configured to be sent eagerly.
+     * @param notification new notification
+     * @return true if its error code or service is configured for eager dispatch
+     */
+    public boolean isEager(NewNotification notification) {
+        return errorCodes.contains(notification.errorCode)
+            || services.contains(Objects.requireNonNullElse(notification.service, "").toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Queues the notification to be sent once the current transaction commits, or straight away if there is none.
+     * Nothing is queued if the transaction rolls back.
+     * @param id ID of the inserted notification
+     */
+    public void publishAfterCommit(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(id);
+                }
+            });
+        } else {
+            publish(id);
+        }
+    }
+
+    private void publish(long id) {
+        if (!queue.offer(id)) {
+            log.warn("Eager dispatch queue is full. Notification {} is left for the pending notifications task", id);
+        }
+    }
+
+    private void dispatchContinuously() {
+        while (running) {
+            try {
+                Long first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<Long> ids = new ArrayList<>();
+                    ids.add(first);
+                    queue.drainTo(ids, batchSize - 1);
+                    dispatch(ids);
+                }
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private void dispatch(List<Long> ids) {
+        try {
+            notificationService.processEagerNotifications(ids, owner);
+        } catch (RuntimeException exc) {
+            log.error("Failed to send notifications eagerly. Notification IDs: {}", ids, exc);
+        }
+    }
+
+    private static List<String> split(String values) {
+        return Arrays.stream(values.split(","))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shares each dispatch batch between the services which have pending notifications, in proportion to their weights.
+ * Uses deficit round robin: for every batch each service is credited with its weighted share of the batch size,
+ * takes as many notifications as it has whole credits and carries the remainder over to the next batch.
+ * A service flooding us with notifications, e.g. after a bulk rescan, therefore only takes its share of each batch
+ * and the other services keep being served while its backlog drains.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class FairShareScheduler {
+
+    private final Map<String, Integer> weights = new HashMap<>();
+    private final int defaultWeight;
+    private final int batchSize;
+
+    /**
+     * Reads the service weights from configuration.
+     * @param weights comma separated weights by service, e.g. bulkscan:2,probate:1
+     * @param defaultWeight weight of services which are not listed
+     * @param batchSize number of notifications to share between services in each batch
+     */
+    public FairShareScheduler(
+        @Value("${scheduling.task.pending-notifications.fair-share.weights:}") String weights,
+        @Value("${scheduling.task.pending-notifications.fair-share.default-weight:1}") int defaultWeight,
+        @Value("${scheduling.task.pending-notifications.page-size:500}") int batchSize
+    ) {
+        if (defaultWeight < 1) {
+            throw new IllegalArgumentException("Default fair share weight must be positive, was: " + defaultWeight);
+        }
+
+        Arrays.stream(weights.split(","))
+            .map(String::trim)
+            .filter(weight -> !weight.isEmpty())
+            .forEach(this::addWeight);
+        this.defaultWeight = defaultWeight;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts sharing batches for a dispatch run. Credits are carried over between the batches of the run only.
+     * @return allocation of the run's batches
+     */
+    public Allocation startRun() {
+        return new Allocation();
+    }
+
+    int weightOf(String service) {
+        return weights.getOrDefault(service.toLowerCase(Locale.ROOT), defaultWeight);
+    }
+
+    private void addWeight(String weight) {
+        String[] parts = weight.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid fair share weight: " + weight);
+        }
+
+        int value = Integer.parseInt(parts[1].trim());
+        if (value < 1) {
+            throw new IllegalArgumentException("Fair share weight must be positive: " + weight);
+        }
+
+        weights.put(parts[0].trim().toLowerCase(Locale.ROOT), value);
+    }
+
+    /**
+     * Keeps track of the credits services have left over from the previous batches of a dispatch run.
+     */
+    public final class Allocation {
+
+        private final Map<String, Double> deficits = new HashMap<>();
+
+        private Allocation() {
+        }
+
+        /**
+         * Works out how many notifications each service takes in the next batch.
+         * @param services services which still have pending notifications
+         * @return number of notifications to read by service, in the given order. Can be 0 for a service whose
+         *     share of a single batch is below one notification
+         */
+        public Map<String, Integer> nextQuotas(Collection<String> services) {
+            int totalWeight = services.stream().mapToInt(FairShareScheduler.this::weightOf).sum();
+
+            Map<String, Integer> quotas = new LinkedHashMap<>();
+            for (String service : services) {
+                double deficit = deficits.getOrDefault(service, 0.0)
+                    + (double) batchSize * weightOf(service) / totalWeight;
+                int quota = (int) deficit;
+
+                deficits.put(service, deficit - quota);
+                quotas.put(service, quota);
+            }
+
+            return quotas;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Write-behind buffer for the statuses of dispatched notifications.
+ * Outcomes reported by dispatch workers are collected and written to the database in batches,
+ * either when the configured batch size is reached or when the flush interval passes, whichever comes first.
+ * Callers which need the statuses to be persisted at a given point (e.g. at the end of a dispatch run)
+ * should call {@link #flush()}, or {@link #flushQuietly()} if a failed write should not stop them.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class NotificationStatusWriter {
+
+    private static final Logger log = getLogger(NotificationStatusWriter.class);
+
+    private final NotificationRepository notificationRepository;
+    private final int batchSize;
+    private final ScheduledExecutorService flushScheduler;
+
+    private final Object lock = new Object();
+    private Map<Long, String> sent = new LinkedHashMap<>();
+    private Map<Long, Long> coalesced = new LinkedHashMap<>();
+    private List<Long> failed = new ArrayList<>();
+    private Map<Long, Duration> postponed = new LinkedHashMap<>();
+    private boolean closed;
+
+    public NotificationStatusWriter(
+        NotificationRepository notificationRepository,
+        @Value("${scheduling.task.pending-notifications.status-writer.batch-size:100}") int batchSize,
+        @Value("${scheduling.task.pending-notifications.status-writer.flush-interval:PT1S}") Duration flushInterval
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.batchSize = batchSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("notification-status-writer-");
+        threadFactory.setDaemon(true);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.flushScheduler.scheduleWithFixedDelay(
+            this::flushQuietly,
+            flushInterval.toMillis(),
+            flushInterval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    public void markAsSent(long id, String confirmationId) {
+        boolean flushNow;
+        synchronized (lock) {
+            sent.put(id, confirmationId);
+            flushNow = closed || bufferedCount() >= batchSize;
+        }
+
+        if (flushNow) {
+            // runs on the dispatch worker, whose notification has been dealt with whether or not the write succeeds
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Marks a duplicate notification as sent together with the notification it was coalesced into.
+     * @param id ID of the duplicate notification
+     * @param confirmationId ID the supplier gave the sent notification
+     * @param coalescedInto ID of the notification which was sent
+     */
+    public void markAsCoalesced(long id, String confirmationId, long coalescedInto) {
+        boolean flushNow;
+        synchronized (lock) {
+            sent.put(id, confirmationId);
+            coalesced.put(id, coalescedInto);
+            flushNow = closed || bufferedCount() >= batchSize;
+        }
+
+        if (flushNow) {
+            flushQuietly();
+        }
+    }
+
+    public void markAsFailure(long id) {
+        boolean flushNow;
+        synchronized (lock) {
+            failed.add(id);
+            flushNow = closed || bufferedCount() >= batchSize;
+        }
+
+        if (flushNow) {
+            flushQuietly();
+        }
+    }
+
+    public void markAsPostponed(long id, Duration retryDelay) {
+        boolean flushNow;
+        synchronized (lock) {
+            postponed.put(id, retryDelay);
+            flushNow = closed || bufferedCount() >= batchSize;
+        }
+
+        if (flushNow) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Writes all buffered statuses to the database.
+     * If the write fails, the statuses are put back into the buffer to be retried on the next flush.
+     */
+    public void flush() {
+        Map<Long, String> sentBatch;
+        Map<Long, Long> coalescedBatch;
+        List<Long> failedBatch;
+        Map<Long, Duration> postponedBatch;
+        synchronized (lock) {
+            sentBatch = sent;
+            coalescedBatch = coalesced;
+            failedBatch = failed;
+            postponedBatch = postponed;
+            sent = new LinkedHashMap<>();
+            coalesced = new LinkedHashMap<>();
+            failed = new ArrayList<>();
+            postponed = new LinkedHashMap<>();
+        }
+
+        if (sentBatch.isEmpty() && coalescedBatch.isEmpty() && failedBatch.isEmpty() && postponedBatch.isEmpty()) {
+            return;
+        }
+
+        boolean sentWritten = false;
+        boolean coalescedWritten = false;
+        boolean failedWritten = false;
+        try {
+            if (!sentBatch.isEmpty()) {
+                notificationRepository.markAllAsSent(sentBatch);
+            }
+            sentWritten = true;
+            if (!coalescedBatch.isEmpty()) {
+                notificationRepository.markAllAsCoalesced(coalescedBatch);
+            }
+            coalescedWritten = true;
+            if (!failedBatch.isEmpty()) {
+                notificationRepository.markAllAsFailure(failedBatch);
+            }
+            failedWritten = true;
+            if (!postponedBatch.isEmpty()) {
+                notificationRepository.markAllAsPostponed(postponedBatch);
+            }
+        } catch (RuntimeException exc) {
+            requeue(
+                sentWritten ? Map.of() : sentBatch,
+                coalescedWritten ? Map.of() : coalescedBatch,
+                failedWritten ? List.of() : failedBatch,
+                postponedBatch
+            );
+            throw exc;
+        }
+
+        log.debug(
+            "Flushed notification statuses. Sent: {}, Coalesced: {}, Failed: {}, Postponed: {}",
+            sentBatch.size(),
+            coalescedBatch.size(),
+            failedBatch.size(),
+            postponedBatch.size()
+        );
+    }
+
+    /**
+     * Flushes whatever is left in the buffer. Statuses reported after this point are written straight away.
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (lock) {
+            closed = true;
+        }
+
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Same as {@link #flush()}, but logs a failed write instead of throwing it.
+     * Statuses which failed to be written stay in the buffer and are retried by the scheduled flush.
+     */
+    public void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception exc) {
+            log.error("Failed to flush notification statuses. Will retry on next flush", exc);
+        }
+    }
+
+    private void requeue(
+        Map<Long, String> sentBatch,
+        Map<Long, Long> coalescedBatch,
+        List<Long> failedBatch,
+        Map<Long, Duration> postponedBatch
+    ) {
+        synchronized (lock) {
+            sentBatch.forEach(sent::putIfAbsent);
+            coalescedBatch.forEach(coalesced::putIfAbsent);
+            failed.addAll(failedBatch);
+            postponedBatch.forEach(postponed::putIfAbsent);
+        }
+    }
+
+    private int bufferedCount() {
+        return sent.size() + failed.size() + postponed.size();
+    }
+}
@@ -0,0 +1,244 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.data.Notification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends pending notifications to the supplier using bounded pools of parallel workers.
+ * Each client (primary/secondary) has its own lane - worker pool and queue - so a slow supplier
+ * only holds up its own notifications. Lanes drain independently: work handed over for one lane
+ * does not wait for the other lane to finish.
+ * Notifications are grouped by zip file name and each group is handled as a chain,
+ * so notifications for the same zip file are still sent one after another in the given order.
+ * With an asynchronous sender a worker only starts a call and moves on, so many calls can be in flight
+ * while the lanes stay small.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+public class PendingNotificationDispatcher {
+
+    private static final Logger log = getLogger(PendingNotificationDispatcher.class);
+
+    private static final String PRIMARY_CLIENT = "primary";
+
+    private final Lane primaryLane;
+    private final Lane secondaryLane;
+    private final int queueCapacity;
+
+    public PendingNotificationDispatcher(
+        @Value("${scheduling.task.pending-notifications.dispatch.primary.threads:1}") int primaryThreads,
+        @Value("${scheduling.task.pending-notifications.dispatch.secondary.threads:1}") int secondaryThreads,
+        @Value("${scheduling.task.pending-notifications.dispatch.queue-capacity:1000}") int queueCapacity
+    ) {
+        this.primaryLane = new Lane(PRIMARY_CLIENT, primaryThreads, queueCapacity);
+        this.secondaryLane = new Lane("secondary", secondaryThreads, queueCapacity);
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sends given notifications and waits until all of them have been handled.
+     * @param notifications notifications to send, in the order they should be sent per zip file
+     * @param sender sends a single notification and reports the outcome
+     * @return counts of the outcomes of the run
+     */
+    public DispatchSummary dispatch(
+        List<Notification> notifications,
+        Function<Notification, DispatchOutcome> sender
+    ) {
+        DispatchSummary summary = new DispatchSummary();
+        dispatch(notifications, sender, summary);
+
+        return summary;
+    }
+
+    /**
+     * Sends given notifications and waits until all of them have been handled.
+     * Outcomes are added to the given summary, so that a run split into several batches is reported once.
+     * @param notifications notifications to send, in the order they should be sent per zip file
+     * @param sender sends a single notification and reports the outcome
+     * @param summary summary to record the outcomes in
+     */
+    public void dispatch(
+        List<Notification> notifications,
+        Function<Notification, DispatchOutcome> sender,
+        DispatchSummary summary
+    ) {
+        dispatchAsync(
+            notifications,
+            notification -> CompletableFuture.completedFuture(sender.apply(notification)),
+            summary
+        ).join();
+    }
+
+    /**
+     * Hands given notifications over to their lanes using a sender which completes asynchronously, without waiting
+     * for them to be sent. The next notification of a zip file is only sent once the previous one has completed,
+     * including notifications of the same lane handed over earlier.
+     * Each lane takes up to its queue capacity of notifications which are not handled yet. Once a lane is full,
+     * the calling thread waits for room in that lane before handing over more of its notifications, without holding
+     * up other threads handing over notifications of the other lane.
+     * @param notifications notifications to send, in the order they should be sent per zip file
+     * @param sender starts sending a single notification and completes with the outcome
+     * @param summary summary to record the outcomes in
+     * @return future completed once all given notifications have been handled
+     */
+    public CompletableFuture<Void> dispatchAsync(
+        List<Notification> notifications,
+        Function<Notification, CompletableFuture<DispatchOutcome>> sender,
+        DispatchSummary summary
+    ) {
+        Map<Lane, List<Notification>> byLane = new LinkedHashMap<>();
+        for (var notification : notifications) {
+            byLane.computeIfAbsent(laneOf(notification.client), key -> new ArrayList<>()).add(notification);
+        }
+
+        List<CompletableFuture<Void>> handedOver = new ArrayList<>();
+        byLane.forEach((lane, laneNotifications) -> {
+            for (int from = 0; from < laneNotifications.size(); from += queueCapacity) {
+                handedOver.add(handOver(
+                    laneNotifications.subList(from, Math.min(from + queueCapacity, laneNotifications.size())),
+                    lane,
+                    sender,
+                    summary
+                ));
+            }
+        });
+
+        return allOf(handedOver);
+    }
+
+    /**
+     * Gives the workers of the lane which sends the given client's notifications, so that the outcome of an
+     * asynchronous call is handled there rather than on the thread which completed the call.
+     * @param client client the notifications belong to (primary/secondary)
+     * @return executor of the client's lane
+     */
+    public Executor laneFor(String client) {
+        return laneOf(client).executor;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        primaryLane.executor.shutdown();
+        secondaryLane.executor.shutdown();
+    }
+
+    private CompletableFuture<Void> handOver(
+        List<Notification> notifications,
+        Lane lane,
+        Function<Notification, CompletableFuture<DispatchOutcome>> sender,
+        DispatchSummary summary
+    ) {
+        // room for all of them is taken at once, so a thread waiting for it never holds room the lane needs to drain
+        lane.capacity.acquireUninterruptibly(notifications.size());
+
+        lane.lock.lock();
+        try {
+            List<CompletableFuture<Void>> chains = new ArrayList<>();
+            for (var group : groupByZipFileName(notifications).values()) {
+                chains.add(sendInOrder(group, lane, sender, summary));
+            }
+
+            lane.tail = allOf(chains);
+            return lane.tail;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> sendInOrder(
+        List<Notification> notifications,
+        Lane lane,
+        Function<Notification, CompletableFuture<DispatchOutcome>> sender,
+        DispatchSummary summary
+    ) {
+        // starts once the lane has finished the work handed over before, so zip files spanning batches stay in order
+        CompletableFuture<Void> chain = lane.tail;
+
+        for (var notification : notifications) {
+            chain = chain
+                .thenComposeAsync(previous -> sender.apply(notification), lane.executor)
+                .exceptionally(exc -> {
+                    log.error("Error dispatching notification. {}", notification, exc);
+                    return DispatchOutcome.SKIPPED;
+                })
+                .thenAccept(outcome -> {
+                    summary.record(outcome);
+                    lane.capacity.release();
+                });
+        }
+
+        return chain;
+    }
+
+    private Lane laneOf(String client) {
+        return PRIMARY_CLIENT.equals(client) ? primaryLane : secondaryLane;
+    }
+
+    private Map<String, List<Notification>> groupByZipFileName(List<Notification> notifications) {
+        Map<String, List<Notification>> groups = new LinkedHashMap<>();
+
+        for (var notification : notifications) {
+            groups
+                .computeIfAbsent(notification.client + "/" + notification.zipFileName, key -> new ArrayList<>())
+                .add(notification);
+        }
+
+        return groups;
+    }
+
+    private static CompletableFuture<Void> allOf(List<CompletableFuture<Void>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new));
+    }
+
+    private static final class Lane {
+
+        private final ExecutorService executor;
+        private final Semaphore capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        // a lane never has more tasks queued than its capacity allows, so the queue does not fill up;
+        // tasks are rejected rather than run by the dispatching thread, which would hold up the other lane
+        private Lane(String client, int threads, int queueCapacity) {
+            CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory("notification-dispatch-" + client + "-");
+            threadFactory.setDaemon(true);
+
+            this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+            );
+            this.capacity = new Semaphore(queueCapacity);
+        }
+    }
+}
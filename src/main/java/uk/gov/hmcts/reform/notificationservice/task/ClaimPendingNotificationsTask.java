@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.notificationservice.task;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.notificationservice.service.NotificationService;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Claim based alternative to {@link PendingNotificationsTask}.
+ * Runs on every node without a scheduler lock - each node claims its own batches of pending notifications,
+ * so dispatch throughput scales with the number of replicas.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+@ConditionalOnExpression(
+    "${scheduling.task.pending-notifications.enabled:true} "
+        + "&& ${scheduling.task.pending-notifications.claim.enabled:false}"
+)
+public class ClaimPendingNotificationsTask {
+
+    private static final Logger log = getLogger(ClaimPendingNotificationsTask.class);
+    public static final String TASK_NAME = "claim-pending-notifications";
+
+    private final NotificationService notificationService;
+    private final String owner;
+
+    public ClaimPendingNotificationsTask(NotificationService notificationService) {
+        this.notificationService = notificationService;
+        // unique per process, so a restarted pod does not pick up claims of its previous instance as its own
+        this.owner = Objects.requireNonNullElse(System.getenv("HOSTNAME"), "node") + "-" + UUID.randomUUID();
+    }
+
+    @Scheduled(fixedDelayString = "${scheduling.task.pending-notifications.delay}") // see `values.yaml` in charts
+    public void run() {
+        log.info("Started {} task. Claim owner: {}", TASK_NAME, owner);
+
+        notificationService.processClaimedNotifications(owner);
+
+        log.info("Finished {} task", TASK_NAME);
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.notificationservice.task;
+
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.notificationservice.service.NotificationBatchProcessor;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Ingests notification messages in batches when the batch ingest mode is enabled.
+ * Each run keeps taking batches until the queue is empty.
+ */
+//TODO: FACT-2026 - whole class can go
+@Service
+@ConditionalOnProperty(value = "scheduling.task.notifications-consume.enabled", matchIfMissing = true)
+@ConditionalOnExpression("!${jms.enabled} && ${queue.notifications.batch.enabled:false}")
+public class NotificationBatchIngestTask {
+
+    private static final Logger log = getLogger(NotificationBatchIngestTask.class);
+
+    private final NotificationBatchProcessor notificationBatchProcessor;
+
+    public NotificationBatchIngestTask(NotificationBatchProcessor notificationBatchProcessor) {
+        this.notificationBatchProcessor = notificationBatchProcessor;
+    }
+
+    @Scheduled(fixedDelayString = "${queue.notifications.batch.poll-delay-in-ms:100}")
+    public void run() {
+        int total = 0;
+        int received;
+        do {
+            received = notificationBatchProcessor.processNextBatch();
+            total += received;
+        } while (received > 0);
+
+        if (total > 0) {
+            log.info("Finished ingesting notification messages. Received: {}", total);
+        }
+    }
+}
@@ -12,7 +12,7 @@ import org.springframework.stereotype.Service;
 //TODO: FACT-2026 - whole class can go
 @Service
 @ConditionalOnProperty(value = "scheduling.task.notifications-consume.enabled", matchIfMissing = true)
-@ConditionalOnExpression("!${jms.enabled}")
+@ConditionalOnExpression("!${jms.enabled} && !${queue.notifications.batch.enabled:false}")
 public class NotificationMessageProcessTask {
 
     private final ServiceBusProcessorClient serviceBusProcessorClient;
@@ -2,7 +2,7 @@ package uk.gov.hmcts.reform.notificationservice.task;
 
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.notificationservice.service.NotificationService;
@@ -11,10 +11,9 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 //TODO: FACT-2026 - whole class can go
 @Component
-@ConditionalOnProperty(
-    prefix = "scheduling.task",
-    name = PendingNotificationsTask.TASK_NAME + ".enabled",
-    matchIfMissing = true
+@ConditionalOnExpression(
+    "${scheduling.task.pending-notifications.enabled:true} "
+        + "&& !${scheduling.task.pending-notifications.claim.enabled:false}"
 )
 public class PendingNotificationsTask {
 
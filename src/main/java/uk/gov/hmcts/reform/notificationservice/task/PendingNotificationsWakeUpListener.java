@@ -0,0 +1,150 @@
+package uk.gov.hmcts.reform.notificationservice.task;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static uk.gov.hmcts.reform.notificationservice.data.NotificationRepository.PENDING_NOTIFICATIONS_CHANNEL;
+
+/**
+ * Wakes the pending notifications task up when new notifications are inserted, instead of relying on polling only.
+ * Listens for the notifications the repository sends on insert on a dedicated database connection. The connection is
+ * opened outside the pool, so no pooled connection is held for good or handed back still listening.
+ * A new notification only becomes due once the send delay has passed, so the task is scheduled to run at that point.
+ * Notifications inserted in a burst share a single run. The task keeps its own schedule as a fallback, e.g. for
+ * postponed notifications whose next attempt becomes due or notifications sent while the listener was reconnecting.
+ */
+//TODO: FACT-2026 - whole class can go
+@Component
+@ConditionalOnExpression(
+    "${scheduling.task.pending-notifications.enabled:true} "
+        + "&& ${scheduling.task.pending-notifications.wake-up.enabled:false}"
+)
+public class PendingNotificationsWakeUpListener implements SmartLifecycle {
+
+    private static final Logger log = getLogger(PendingNotificationsWakeUpListener.class);
+
+    // notifications arriving within this window after the first one are sent by the same run
+    static final Duration COALESCE_WINDOW = Duration.ofSeconds(5);
+
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final TaskScheduler taskScheduler;
+    private final ObjectProvider<PendingNotificationsTask> pendingNotificationsTask;
+    private final ObjectProvider<ClaimPendingNotificationsTask> claimPendingNotificationsTask;
+    private final Duration sendDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Instant scheduledWakeUp = Instant.MIN;
+
+    public PendingNotificationsWakeUpListener(
+        @Value("${spring.datasource.url}") String url,
+        @Value("${spring.datasource.username:}") String username,
+        @Value("${spring.datasource.password:}") String password,
+        @Qualifier("notificationTaskScheduler") TaskScheduler taskScheduler,
+        ObjectProvider<PendingNotificationsTask> pendingNotificationsTask,
+        ObjectProvider<ClaimPendingNotificationsTask> claimPendingNotificationsTask,
+        @Value("${scheduling.task.pending-notifications.send-delay-in-minute}") int sendDelayInMinutes
+    ) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.taskScheduler = taskScheduler;
+        this.pendingNotificationsTask = pendingNotificationsTask;
+        this.claimPendingNotificationsTask = claimPendingNotificationsTask;
+        this.sendDelay = Duration.ofMinutes(sendDelayInMinutes);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "pending-notifications-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Schedules a run of the pending notifications task for when a notification inserted now becomes due,
+     * unless a run is already scheduled late enough to send it.
+     */
+    synchronized void onNotificationInserted() {
+        Instant due = Instant.now().plus(sendDelay);
+        if (!scheduledWakeUp.isBefore(due)) {
+            return;
+        }
+
+        scheduledWakeUp = due.plus(COALESCE_WINDOW);
+        taskScheduler.schedule(this::runTask, scheduledWakeUp);
+        log.debug("Scheduled pending notifications wake-up at {}", scheduledWakeUp);
+    }
+
+    private void runTask() {
+        pendingNotificationsTask.ifAvailable(PendingNotificationsTask::run);
+        claimPendingNotificationsTask.ifAvailable(ClaimPendingNotificationsTask::run);
+    }
+
+    private void listen() {
+        while (running) {
+            try (
+                Connection connection = DriverManager.getConnection(url, username, password);
+                Statement statement = connection.createStatement()
+            ) {
+                statement.execute("LISTEN " + PENDING_NOTIFICATIONS_CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for new pending notifications on channel {}", PENDING_NOTIFICATIONS_CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        onNotificationInserted();
+                    }
+                }
+            } catch (SQLException exc) {
+                if (running) {
+                    log.error("Error listening for new pending notifications. Reconnecting", exc);
+                    pauseBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void pauseBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY.toMillis());
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
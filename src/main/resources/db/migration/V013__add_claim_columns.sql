@@ -0,0 +1,3 @@
+ALTER TABLE notifications
+  ADD COLUMN claimed_by VARCHAR(255) NULL,
+  ADD COLUMN claim_expires_at TIMESTAMP NULL;
@@ -0,0 +1,3 @@
+ALTER TABLE notifications
+  ADD COLUMN attempt_count INTEGER NOT NULL DEFAULT 0,
+  ADD COLUMN next_attempt_at TIMESTAMP NULL;
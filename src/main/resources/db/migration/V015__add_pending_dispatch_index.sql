@@ -0,0 +1,5 @@
+-- only rows still waiting to be sent are indexed, in the id order the dispatch query pages through them
+CREATE INDEX notifications_pending_dispatch_idx ON notifications (id, created_at)
+  WHERE status = 'PENDING' AND confirmation_id IS NULL;
+
+DROP INDEX notifications_status_idx;
@@ -0,0 +1,6 @@
+CREATE TABLE dispatch_checkpoints (
+  name VARCHAR(64) NOT NULL,
+  last_id BIGINT NOT NULL,
+  updated_at TIMESTAMP NOT NULL,
+  PRIMARY KEY (name)
+);
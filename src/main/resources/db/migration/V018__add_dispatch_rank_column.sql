@@ -0,0 +1,11 @@
+-- time the notification is ranked at for dispatch: created_at pushed back by its error code's priority level
+ALTER TABLE notifications
+  ADD COLUMN dispatch_rank TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+UPDATE notifications SET dispatch_rank = created_at WHERE status = 'PENDING';
+
+-- rows still waiting to be sent, in the order the dispatch query pages through them
+CREATE INDEX notifications_pending_priority_idx ON notifications (dispatch_rank, id)
+  WHERE status = 'PENDING' AND confirmation_id IS NULL;
+
+DROP INDEX notifications_pending_dispatch_idx;
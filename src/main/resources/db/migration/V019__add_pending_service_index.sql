@@ -0,0 +1,6 @@
+-- rows still waiting to be sent, in the order the dispatch query pages through each service's share of a batch
+CREATE INDEX notifications_pending_service_idx ON notifications (service, dispatch_rank, id)
+  WHERE status = 'PENDING' AND confirmation_id IS NULL;
+
+-- pending notifications are now read per service, each with its own checkpoint
+DELETE FROM dispatch_checkpoints WHERE name = 'pending-notifications';
@@ -0,0 +1,10 @@
+-- keeps the oldest notification of each message ID, so that the unique index can be created
+UPDATE notifications duplicate SET message_id = CONCAT(duplicate.message_id, '_duplicate_', duplicate.id)
+  FROM notifications original
+  WHERE original.message_id = duplicate.message_id
+    AND original.id < duplicate.id
+    AND duplicate.message_id <> '';
+
+-- notifications sent via the API have no message ID, so they are left out
+CREATE UNIQUE INDEX notifications_message_id_idx ON notifications (message_id)
+  WHERE message_id <> '';
@@ -0,0 +1,122 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimiterTest {
+
+    private static final Duration LATENCY_THRESHOLD = Duration.ofSeconds(5);
+
+    @Test
+    void should_raise_limit_while_calls_are_fast_and_successful() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(4, 1, 20, 0.5, LATENCY_THRESHOLD);
+
+        // when
+        for (int round = 0; round < 10; round++) {
+            int permits = limiter.getLimit();
+            for (int i = 0; i < permits; i++) {
+                assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+            }
+            for (int i = 0; i < permits; i++) {
+                limiter.onSuccess(Duration.ofMillis(100).toNanos());
+            }
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isGreaterThan(4).isLessThanOrEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void should_not_raise_limit_when_calls_are_slow() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(2, 1, 20, 0.5, LATENCY_THRESHOLD);
+
+        // when
+        for (int round = 0; round < 10; round++) {
+            limiter.tryAcquire(Duration.ZERO);
+            limiter.tryAcquire(Duration.ZERO);
+            limiter.onSuccess(LATENCY_THRESHOLD.plusSeconds(1).toNanos());
+            limiter.onSuccess(LATENCY_THRESHOLD.plusSeconds(1).toNanos());
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_raise_limit_when_permits_are_not_used() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(4, 1, 20, 0.5, LATENCY_THRESHOLD);
+
+        // when
+        for (int round = 0; round < 50; round++) {
+            limiter.tryAcquire(Duration.ZERO);
+            limiter.onSuccess(0);
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void should_cut_limit_when_call_is_dropped() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(8, 1, 20, 0.5, LATENCY_THRESHOLD);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // when
+        limiter.onDropped();
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void should_not_cut_limit_below_minimum() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(2, 1, 20, 0.5, LATENCY_THRESHOLD);
+
+        // when
+        for (int round = 0; round < 5; round++) {
+            limiter.tryAcquire(Duration.ZERO);
+            limiter.onDropped();
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void should_refuse_permit_when_limit_is_reached() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(1, 1, 20, 0.5, LATENCY_THRESHOLD);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // when
+        boolean acquired = limiter.tryAcquire(Duration.ofMillis(10));
+
+        // then
+        assertThat(acquired).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void should_give_permit_back_when_call_is_ignored() throws Exception {
+        // given
+        var limiter = new AimdConcurrencyLimiter(1, 1, 20, 0.5, LATENCY_THRESHOLD);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // when
+        limiter.onIgnored();
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.tryAcquire(Duration.ZERO)).isTrue();
+    }
+}
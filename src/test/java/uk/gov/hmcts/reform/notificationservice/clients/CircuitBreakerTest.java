@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private Clock clock;
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker(3, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void should_stay_closed_when_failures_are_not_consecutive() {
+        // when
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryPass()).isTrue();
+    }
+
+    @Test
+    void should_open_after_consecutive_failures() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+
+        // when
+        openBreaker();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThat(breaker.tryPass()).isFalse();
+    }
+
+    @Test
+    void should_let_single_probe_through_once_open_duration_has_passed() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+        openBreaker();
+        given(clock.instant()).willReturn(NOW.plusSeconds(61));
+
+        // when
+        boolean probe = breaker.tryPass();
+        boolean second = breaker.tryPass();
+
+        // then
+        assertThat(probe).isTrue();
+        assertThat(second).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void should_not_permit_calls_while_probe_is_in_flight() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+        openBreaker();
+        given(clock.instant()).willReturn(NOW.plusSeconds(61));
+        boolean permittedBeforeProbe = breaker.isCallPermitted();
+
+        // when
+        breaker.tryPass();
+
+        // then
+        assertThat(permittedBeforeProbe).isTrue();
+        assertThat(breaker.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void should_let_next_probe_through_when_probe_outcome_is_ignored() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+        openBreaker();
+        given(clock.instant()).willReturn(NOW.plusSeconds(61));
+        breaker.tryPass();
+
+        // when
+        breaker.onIgnored();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThat(breaker.tryPass()).isTrue();
+    }
+
+    @Test
+    void should_close_when_probe_succeeds() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+        openBreaker();
+        given(clock.instant()).willReturn(NOW.plusSeconds(61));
+        breaker.tryPass();
+
+        // when
+        breaker.onSuccess();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryPass()).isTrue();
+    }
+
+    @Test
+    void should_open_again_when_probe_fails() {
+        // given
+        given(clock.instant()).willReturn(NOW);
+        openBreaker();
+        given(clock.instant()).willReturn(NOW.plusSeconds(61));
+        breaker.tryPass();
+
+        // when
+        breaker.onFailure();
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryPass()).isFalse();
+    }
+
+    private void openBreaker() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SupplierBulkErrorNotificationClientTest {
+
+    @Mock
+    private ErrorNotificationClient primaryClient;
+
+    @Mock
+    private ErrorNotificationClientSecondary secondaryClient;
+
+    @InjectMocks
+    private SupplierBulkErrorNotificationClient client;
+
+    @Test
+    void should_map_supplier_notification_ids_to_reference_ids_of_accepted_notifications() {
+        // given
+        var requests = List.of(request("1"), request("2"), request("3"));
+        given(secondaryClient.notifyBulk(requests)).willReturn(new ErrorNotificationBulkResponse(List.of(
+            new ErrorNotificationBulkResponse.Item("1", "supplier-1"),
+            new ErrorNotificationBulkResponse.Item("2", null),
+            new ErrorNotificationBulkResponse.Item("3", "supplier-3")
+        )));
+
+        // when
+        var notificationIds = client.notifyBulk("secondary", requests);
+
+        // then
+        assertThat(notificationIds).isEqualTo(Map.of("1", "supplier-1", "3", "supplier-3"));
+        verifyNoInteractions(primaryClient);
+    }
+
+    private ErrorNotificationRequest request(String referenceId) {
+        return new ErrorNotificationRequest(
+            "zip_file_name.zip",
+            "po_box",
+            "ERR_AV_FAILED",
+            "error description",
+            referenceId
+        );
+    }
+}
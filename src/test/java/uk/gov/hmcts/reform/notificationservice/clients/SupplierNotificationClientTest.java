@@ -0,0 +1,234 @@
+package uk.gov.hmcts.reform.notificationservice.clients;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.notificationservice.exception.SupplierUnavailableException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SupplierNotificationClientTest {
+
+    private static final ErrorNotificationRequest REQUEST = new ErrorNotificationRequest(
+        "zip_file_name.zip",
+        "po_box",
+        "ERR_AV_FAILED",
+        "error description",
+        "1"
+    );
+
+    @Mock
+    private ErrorNotificationClient primaryClient;
+
+    @Mock
+    private ErrorNotificationClientSecondary secondaryClient;
+
+    @Mock
+    private AsyncErrorNotificationClient asyncClient;
+
+    private MeterRegistry meterRegistry;
+
+    private SupplierNotificationClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        client = createClient(Optional.empty());
+    }
+
+    @Test
+    void should_send_notification_to_matching_client() {
+        // given
+        var response = new ErrorNotificationResponse("confirmation-id");
+        given(secondaryClient.notify(REQUEST)).willReturn(response);
+
+        // when
+        var result = client.notify("secondary", REQUEST);
+
+        // then
+        assertThat(result).isSameAs(response);
+        verify(secondaryClient).notify(REQUEST);
+        verifyNoInteractions(primaryClient);
+    }
+
+    @Test
+    void should_cut_limit_of_supplier_responding_with_server_error() {
+        // given
+        willThrow(mock(FeignException.InternalServerError.class)).given(primaryClient).notify(REQUEST);
+
+        // when
+        assertThatThrownBy(() -> client.notify("primary", REQUEST))
+            .isInstanceOf(FeignException.InternalServerError.class);
+
+        // then
+        assertThat(limit("primary")).isEqualTo(4);
+        assertThat(limit("secondary")).isEqualTo(8);
+    }
+
+    @Test
+    void should_keep_limit_when_supplier_rejects_request() {
+        // given
+        willThrow(mock(FeignException.BadRequest.class)).given(primaryClient).notify(REQUEST);
+
+        // when
+        assertThatThrownBy(() -> client.notify("primary", REQUEST))
+            .isInstanceOf(FeignException.BadRequest.class);
+
+        // then
+        assertThat(limit("primary")).isEqualTo(8);
+    }
+
+    @Test
+    void should_not_call_supplier_while_circuit_breaker_is_open() {
+        // given
+        willThrow(mock(FeignException.ServiceUnavailable.class)).given(primaryClient).notify(REQUEST);
+        assertThatThrownBy(() -> client.notify("primary", REQUEST)).isInstanceOf(FeignException.class);
+        assertThatThrownBy(() -> client.notify("primary", REQUEST)).isInstanceOf(FeignException.class);
+
+        // when
+        assertThatThrownBy(() -> client.notify("primary", REQUEST))
+            .isInstanceOf(SupplierUnavailableException.class);
+
+        // then
+        verify(primaryClient, times(2)).notify(REQUEST);
+        assertThat(client.isAvailable("primary")).isFalse();
+        assertThat(client.isAvailable("secondary")).isTrue();
+        assertThat(meterRegistry.get("notification.supplier.circuit.state").tag("client", "primary").gauge().value())
+            .isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+    }
+
+    @Test
+    void should_not_reset_circuit_breaker_when_call_fails_without_supplier_response() {
+        // given
+        willThrow(mock(FeignException.ServiceUnavailable.class)).given(primaryClient).notify(REQUEST);
+        assertThatThrownBy(() -> client.notify("primary", REQUEST)).isInstanceOf(FeignException.class);
+        willThrow(new IllegalStateException("failed to encode request")).given(primaryClient).notify(REQUEST);
+        assertThatThrownBy(() -> client.notify("primary", REQUEST)).isInstanceOf(IllegalStateException.class);
+        willThrow(mock(FeignException.ServiceUnavailable.class)).given(primaryClient).notify(REQUEST);
+
+        // when
+        assertThatThrownBy(() -> client.notify("primary", REQUEST)).isInstanceOf(FeignException.class);
+
+        // then
+        assertThat(client.isAvailable("primary")).isFalse();
+    }
+
+    @Test
+    void should_send_notification_without_blocking_when_async_client_is_enabled() {
+        // given
+        client = createClient(Optional.of(asyncClient));
+        var response = new ErrorNotificationResponse("confirmation-id");
+        given(asyncClient.notify("primary", REQUEST)).willReturn(CompletableFuture.completedFuture(response));
+
+        // when
+        var result = client.notifyAsync("primary", REQUEST);
+
+        // then
+        assertThat(result).isCompletedWithValue(response);
+        verifyNoInteractions(primaryClient, secondaryClient);
+        assertThat(meterRegistry.get("notification.supplier.concurrency.in-flight").tag("client", "primary")
+                       .gauge().value()).isZero();
+    }
+
+    @Test
+    void should_cut_limit_when_async_call_fails_to_reach_supplier() {
+        // given
+        client = createClient(Optional.of(asyncClient));
+        given(asyncClient.notify("primary", REQUEST))
+            .willReturn(CompletableFuture.failedFuture(new ConnectException("connection refused")));
+
+        // when
+        var result = client.notifyAsync("primary", REQUEST);
+
+        // then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(limit("primary")).isEqualTo(4);
+    }
+
+    @Test
+    void should_release_permit_once_when_async_client_throws_before_starting_call() {
+        // given
+        client = createClient(Optional.of(asyncClient));
+        willThrow(new IllegalStateException("failed to encode request")).given(asyncClient).notify("primary", REQUEST);
+
+        // when
+        var result = client.notifyAsync("primary", REQUEST);
+
+        // then
+        assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("notification.supplier.concurrency.in-flight").tag("client", "primary")
+                       .gauge().value()).isZero();
+        assertThat(limit("primary")).isEqualTo(8);
+    }
+
+    @Test
+    void should_fall_back_to_blocking_call_when_async_client_is_disabled() {
+        // given
+        var response = new ErrorNotificationResponse("confirmation-id");
+        given(primaryClient.notify(REQUEST)).willReturn(response);
+
+        // when
+        var result = client.notifyAsync("primary", REQUEST);
+
+        // then
+        assertThat(result).isCompletedWithValue(response);
+    }
+
+    @Test
+    void should_fail_async_call_while_circuit_breaker_is_open() {
+        // given
+        client = createClient(Optional.of(asyncClient));
+        given(asyncClient.notify("primary", REQUEST))
+            .willReturn(CompletableFuture.failedFuture(mock(FeignException.ServiceUnavailable.class)));
+        client.notifyAsync("primary", REQUEST);
+        client.notifyAsync("primary", REQUEST);
+
+        // when
+        var result = client.notifyAsync("primary", REQUEST);
+
+        // then
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(SupplierUnavailableException.class);
+        verify(asyncClient, times(2)).notify("primary", REQUEST);
+    }
+
+    private SupplierNotificationClient createClient(Optional<AsyncErrorNotificationClient> async) {
+        return new SupplierNotificationClient(
+            primaryClient,
+            secondaryClient,
+            async,
+            Optional.empty(),
+            meterRegistry,
+            8,
+            20,
+            10,
+            0.5,
+            Duration.ofSeconds(5),
+            Duration.ofMillis(10),
+            2,
+            Duration.ofMinutes(1)
+        );
+    }
+
+    private double limit(String client) {
+        return meterRegistry.get("notification.supplier.concurrency.limit").tag("client", client).gauge().value();
+    }
+}
@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.notificationservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpConfigurationTest {
+
+    @Test
+    void should_keep_connection_alive_for_as_long_as_supplier_allows_up_to_maximum() {
+        // given
+        var strategy = HttpConfiguration.keepAliveStrategy(Duration.ofMinutes(1));
+        HttpResponse shortKeepAlive = response("timeout=5");
+        HttpResponse longKeepAlive = response("timeout=600");
+        HttpResponse noKeepAlive = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+
+        // when
+        // then
+        assertThat(strategy.getKeepAliveDuration(shortKeepAlive, new BasicHttpContext())).isEqualTo(5_000);
+        assertThat(strategy.getKeepAliveDuration(longKeepAlive, new BasicHttpContext())).isEqualTo(60_000);
+        assertThat(strategy.getKeepAliveDuration(noKeepAlive, new BasicHttpContext())).isEqualTo(60_000);
+    }
+
+    @Test
+    void should_publish_connection_pool_metrics() {
+        // given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        var connectionManager = HttpConfiguration.createSupplierConnectionManager(15, 10, Duration.ofSeconds(2));
+
+        // when
+        HttpConfiguration.registerConnectionPoolMetrics(meterRegistry, "primary", connectionManager);
+
+        // then
+        assertThat(gauge(meterRegistry, "max")).isEqualTo(15);
+        assertThat(gauge(meterRegistry, "leased")).isZero();
+        assertThat(gauge(meterRegistry, "pending")).isZero();
+        assertThat(gauge(meterRegistry, "available")).isZero();
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(10);
+        assertThat(connectionManager.getValidateAfterInactivity()).isEqualTo(2_000);
+    }
+
+    private HttpResponse response(String keepAlive) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.addHeader("Keep-Alive", keepAlive);
+        return response;
+    }
+
+    private double gauge(MeterRegistry meterRegistry, String name) {
+        return meterRegistry.get("notification.supplier.connections." + name).tag("client", "primary").gauge().value();
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DispatchPriorityTest {
+
+    @Test
+    void should_rank_error_codes_by_their_level_times_age_boost() {
+        // given
+        var priority = new DispatchPriority(" ERR_AV_FAILED:0, err_rescan_required:2 ", 1, Duration.ofMinutes(30));
+
+        // when
+        // then
+        assertThat(priority.rankOffset(ErrorCode.ERR_AV_FAILED)).isZero();
+        assertThat(priority.rankOffset(ErrorCode.ERR_METAFILE_INVALID)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(priority.rankOffset(ErrorCode.ERR_RESCAN_REQUIRED)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void should_rank_all_error_codes_the_same_when_no_levels_are_configured() {
+        // given
+        var priority = new DispatchPriority("", 0, Duration.ofMinutes(30));
+
+        // when
+        // then
+        assertThat(priority.rankOffset(ErrorCode.ERR_AV_FAILED)).isZero();
+        assertThat(priority.rankOffset(ErrorCode.ERR_RESCAN_REQUIRED)).isZero();
+    }
+
+    @Test
+    void should_reject_invalid_levels() {
+        assertThatThrownBy(() -> new DispatchPriority("ERR_AV_FAILED", 0, Duration.ofMinutes(30)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DispatchPriority("ERR_AV_FAILED:-1", 0, Duration.ofMinutes(30)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DispatchPriority("ERR_UNKNOWN:1", 0, Duration.ofMinutes(30)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,185 @@
+package uk.gov.hmcts.reform.notificationservice.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitInsertBufferTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private GroupCommitInsertBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null && buffer.isRunning()) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void should_insert_notifications_of_concurrent_callers_together_and_give_each_its_own_id() {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 2, Duration.ofSeconds(5));
+        buffer.start();
+        given(notificationRepository.insertAll(any())).willAnswer(invocation ->
+            invocation.<List<NewNotification>>getArgument(0).stream()
+                .map(notification -> Long.parseLong(notification.messageId))
+                .toList()
+        );
+
+        // when
+        var first = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("1")));
+        var second = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("2")));
+
+        // then
+        assertThat(first.join()).isEqualTo(1L);
+        assertThat(second.join()).isEqualTo(2L);
+        verify(notificationRepository, times(1)).insertAll(any());
+        verify(notificationRepository, never()).insert(any());
+    }
+
+    @Test
+    void should_fail_callers_whose_message_id_was_already_saved() {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 2, Duration.ofSeconds(5));
+        buffer.start();
+        given(notificationRepository.insertAll(any())).willAnswer(invocation ->
+            invocation.<List<NewNotification>>getArgument(0).stream()
+                .map(notification -> "1".equals(notification.messageId) ? 1L : null)
+                .toList()
+        );
+
+        // when
+        var first = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("1")));
+        var second = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("2")));
+
+        // then
+        assertThat(first.join()).isEqualTo(1L);
+        assertThatThrownBy(second::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(DuplicateMessageIdException.class);
+        verify(notificationRepository, never()).insert(any());
+    }
+
+    @Test
+    void should_give_each_caller_its_own_id_when_message_ids_are_empty() {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 2, Duration.ofSeconds(5));
+        buffer.start();
+        given(notificationRepository.insertAll(any())).willReturn(List.of(1L, 2L));
+
+        // when
+        var first = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("")));
+        var second = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("")));
+
+        // then
+        assertThat(List.of(first.join(), second.join())).containsExactlyInAnyOrder(1L, 2L);
+        verify(notificationRepository, never()).insert(any());
+    }
+
+    @Test
+    void should_insert_one_by_one_when_group_insert_fails_and_give_each_caller_its_own_failure() {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 2, Duration.ofSeconds(5));
+        buffer.start();
+        var valid = newNotification("1");
+        var duplicate = newNotification("2");
+        given(notificationRepository.insertAll(any())).willThrow(new IllegalStateException("failed"));
+        given(notificationRepository.insert(valid)).willReturn(1L);
+        given(notificationRepository.insert(duplicate)).willThrow(new DuplicateMessageIdException("duplicate"));
+
+        // when
+        var first = CompletableFuture.supplyAsync(() -> buffer.insert(valid));
+        var second = CompletableFuture.supplyAsync(() -> buffer.insert(duplicate));
+
+        // then
+        assertThat(first.join()).isEqualTo(1L);
+        assertThatThrownBy(second::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(DuplicateMessageIdException.class);
+    }
+
+    @Test
+    void should_finish_saving_queued_notifications_before_calling_back_on_stop() throws Exception {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 10, Duration.ofMillis(100));
+        buffer.start();
+        var afterStop = newNotification("2");
+        CountDownLatch groupInsertStarted = new CountDownLatch(1);
+        CountDownLatch groupInsertReleased = new CountDownLatch(1);
+        given(notificationRepository.insertAll(any())).willAnswer(invocation -> {
+            groupInsertStarted.countDown();
+            // fails the group insert if the flusher gets interrupted
+            groupInsertReleased.await(5, TimeUnit.SECONDS);
+            return List.of(1L);
+        });
+        given(notificationRepository.insert(afterStop)).willReturn(2L);
+        var first = CompletableFuture.supplyAsync(() -> buffer.insert(newNotification("1")));
+        assertThat(groupInsertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CountDownLatch stopped = new CountDownLatch(1);
+        buffer.stop(stopped::countDown);
+        long afterStopId = buffer.insert(afterStop);
+        long stoppedBeforeGroupSaved = stopped.getCount();
+        groupInsertReleased.countDown();
+
+        // then
+        assertThat(afterStopId).isEqualTo(2L);
+        assertThat(stoppedBeforeGroupSaved).isEqualTo(1L);
+        assertThat(first.join()).isEqualTo(1L);
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(notificationRepository, times(1)).insertAll(any());
+    }
+
+    @Test
+    void should_insert_straight_away_when_not_running() {
+        // given
+        buffer = new GroupCommitInsertBuffer(notificationRepository, 2, Duration.ofSeconds(5));
+        var notification = newNotification("1");
+        given(notificationRepository.insert(notification)).willReturn(1L);
+
+        // when
+        long id = buffer.insert(notification);
+
+        // then
+        assertThat(id).isEqualTo(1L);
+        verify(notificationRepository, never()).insertAll(any());
+    }
+
+    private NewNotification newNotification(String messageId) {
+        return new NewNotification(
+            "zip_file_name",
+            "po_box",
+            "bulkscan",
+            "service",
+            "dcn",
+            ErrorCode.ERR_AV_FAILED,
+            "error_description",
+            messageId,
+            "primary"
+        );
+    }
+}
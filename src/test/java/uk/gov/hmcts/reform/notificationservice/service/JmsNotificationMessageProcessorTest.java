@@ -0,0 +1,157 @@
+package uk.gov.hmcts.reform.notificationservice.service;
+
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+import uk.gov.hmcts.reform.notificationservice.exception.DuplicateMessageIdException;
+import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
+import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JmsNotificationMessageProcessorTest {
+
+    private static final String DEAD_LETTER_QUEUE = "notifications.DLQ";
+    private static final String MESSAGE_ID = "ID:message-1";
+    private static final String MESSAGE_BODY = "{\"zip_file_name\":\"file.zip\"}";
+
+    @Mock
+    private NotificationMessageHandler notificationMessageHandler;
+    @Mock
+    private NotificationMessageParser notificationMessageParser;
+    @Mock
+    private JmsTemplate jmsTemplate;
+    @Mock
+    private ActiveMQTextMessage message;
+
+    private JmsNotificationMessageProcessor processor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        processor = new JmsNotificationMessageProcessor(
+            notificationMessageHandler,
+            notificationMessageParser,
+            jmsTemplate,
+            5,
+            DEAD_LETTER_QUEUE
+        );
+        given(message.getJMSMessageID()).willReturn(MESSAGE_ID);
+    }
+
+    @Test
+    void should_acknowledge_message_when_processed_successfully() throws Exception {
+        // given
+        var notificationMsg = mock(NotificationMsg.class);
+        given(notificationMessageParser.parse(MESSAGE_BODY)).willReturn(notificationMsg);
+
+        // when
+        processor.processNextMessage(message, MESSAGE_BODY);
+
+        // then
+        verify(notificationMessageHandler).handleNotificationMessage(notificationMsg, MESSAGE_ID);
+        verify(message).acknowledge();
+        verify(jmsTemplate, never()).send(any(String.class), any(MessageCreator.class));
+    }
+
+    @Test
+    void should_send_invalid_message_to_dead_letter_queue_and_acknowledge_it() throws Exception {
+        // given
+        given(message.getText()).willReturn(MESSAGE_BODY);
+        given(notificationMessageParser.parse(MESSAGE_BODY)).willThrow(new InvalidMessageException("invalid"));
+
+        // when
+        processor.processNextMessage(message, MESSAGE_BODY);
+
+        // then
+        TextMessage deadLetter = verifySentToDeadLetterQueue();
+        verify(deadLetter).setStringProperty(
+            JmsNotificationMessageProcessor.DEAD_LETTER_REASON,
+            "Notification Message processing error"
+        );
+        verify(deadLetter).setStringProperty(JmsNotificationMessageProcessor.ORIGINAL_MESSAGE_ID, MESSAGE_ID);
+        verify(message).acknowledge();
+    }
+
+    @Test
+    void should_send_duplicate_message_on_first_delivery_to_dead_letter_queue() throws Exception {
+        // given
+        var notificationMsg = mock(NotificationMsg.class);
+        given(message.getText()).willReturn(MESSAGE_BODY);
+        given(message.getStringProperty("JMSXDeliveryCount")).willReturn("0");
+        given(notificationMessageParser.parse(MESSAGE_BODY)).willReturn(notificationMsg);
+        willThrow(new DuplicateMessageIdException("duplicate"))
+            .given(notificationMessageHandler).handleNotificationMessage(notificationMsg, MESSAGE_ID);
+
+        // when
+        processor.processNextMessage(message, MESSAGE_BODY);
+
+        // then
+        TextMessage deadLetter = verifySentToDeadLetterQueue();
+        verify(deadLetter).setStringProperty(
+            JmsNotificationMessageProcessor.DEAD_LETTER_REASON,
+            "Duplicate notification message id"
+        );
+        verify(message).acknowledge();
+    }
+
+    @Test
+    void should_not_acknowledge_message_when_dead_letter_queue_send_fails() throws Exception {
+        // given
+        given(message.getText()).willReturn(MESSAGE_BODY);
+        given(notificationMessageParser.parse(MESSAGE_BODY)).willThrow(new InvalidMessageException("invalid"));
+        willThrow(new UncategorizedJmsException("Broker unavailable"))
+            .given(jmsTemplate).send(eq(DEAD_LETTER_QUEUE), any(MessageCreator.class));
+
+        // when
+        // then
+        assertThatThrownBy(() -> processor.processNextMessage(message, MESSAGE_BODY))
+            .isInstanceOf(JMSException.class);
+        verify(message, never()).acknowledge();
+    }
+
+    @Test
+    void should_return_message_to_queue_when_max_delivery_count_is_not_reached() throws Exception {
+        // given
+        var notificationMsg = mock(NotificationMsg.class);
+        given(message.getStringProperty("JMSXDeliveryCount")).willReturn("1");
+        given(notificationMessageParser.parse(MESSAGE_BODY)).willReturn(notificationMsg);
+        willThrow(new IllegalStateException("Database unavailable"))
+            .given(notificationMessageHandler).handleNotificationMessage(notificationMsg, MESSAGE_ID);
+
+        // when
+        // then
+        assertThatThrownBy(() -> processor.processNextMessage(message, MESSAGE_BODY))
+            .isInstanceOf(JMSException.class);
+        verify(jmsTemplate, never()).send(any(String.class), any(MessageCreator.class));
+        verify(message, never()).acknowledge();
+    }
+
+    private TextMessage verifySentToDeadLetterQueue() throws JMSException {
+        var creatorCaptor = ArgumentCaptor.forClass(MessageCreator.class);
+        verify(jmsTemplate).send(eq(DEAD_LETTER_QUEUE), creatorCaptor.capture());
+
+        var session = mock(Session.class);
+        var deadLetter = mock(TextMessage.class);
+        given(session.createTextMessage(MESSAGE_BODY)).willReturn(deadLetter);
+        creatorCaptor.getValue().createMessage(session);
+        return deadLetter;
+    }
+}
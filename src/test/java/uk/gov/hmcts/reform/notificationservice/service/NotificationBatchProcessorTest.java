@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.notificationservice.service;
+
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.IterableStream;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import com.azure.messaging.servicebus.models.DeadLetterOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
+import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
+import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchProcessorTest {
+
+    @Mock
+    private ServiceBusReceiverClient receiver;
+    @Mock
+    private NotificationMessageParser notificationMessageParser;
+    @Mock
+    private NotificationMessageHandler notificationMessageHandler;
+
+    private NotificationBatchProcessor notificationBatchProcessor;
+
+    @BeforeEach
+    void setUp() {
+        notificationBatchProcessor = new NotificationBatchProcessor(
+            receiver,
+            notificationMessageParser,
+            notificationMessageHandler,
+            10,
+            Duration.ofSeconds(1),
+            5
+        );
+    }
+
+    @Test
+    void should_save_valid_messages_in_one_insert_and_dead_letter_invalid_ones() {
+        // given
+        var validMessage = mockMessage("valid");
+        var invalidMessage = mockMessage("invalid");
+        given(receiver.receiveMessages(10, Duration.ofSeconds(1)))
+            .willReturn(new IterableStream<>(List.of(validMessage, invalidMessage)));
+
+        var notificationMsg = mock(NotificationMsg.class);
+        var newNotification = mock(NewNotification.class);
+        given(notificationMessageParser.parse(validMessage.getBody())).willReturn(notificationMsg);
+        given(notificationMessageParser.parse(invalidMessage.getBody()))
+            .willThrow(new InvalidMessageException("Invalid Message"));
+        given(notificationMessageHandler.toNewNotification(notificationMsg, "valid")).willReturn(newNotification);
+        given(notificationMessageHandler.handleNotifications(List.of(newNotification))).willReturn(List.of(1L));
+
+        // when
+        int received = notificationBatchProcessor.processNextBatch();
+
+        // then
+        assertThat(received).isEqualTo(2);
+        verify(notificationMessageHandler).handleNotifications(List.of(newNotification));
+        verify(receiver).complete(validMessage);
+
+        var deadLetterOptionsCaptor = ArgumentCaptor.forClass(DeadLetterOptions.class);
+        verify(receiver).deadLetter(any(), deadLetterOptionsCaptor.capture());
+        assertThat(deadLetterOptionsCaptor.getValue().getDeadLetterReason())
+            .isEqualTo("Notification Message processing error");
+    }
+
+    @Test
+    void should_save_messages_one_by_one_when_batch_insert_fails_and_hold_back_failing_ones_only() {
+        // given
+        var message1 = mockMessage("message1");
+        var message2 = mockMessage("message2");
+        given(receiver.receiveMessages(10, Duration.ofSeconds(1)))
+            .willReturn(new IterableStream<>(List.of(message1, message2)));
+
+        var notificationMsg1 = mock(NotificationMsg.class);
+        var notificationMsg2 = mock(NotificationMsg.class);
+        given(notificationMessageParser.parse(message1.getBody())).willReturn(notificationMsg1);
+        given(notificationMessageParser.parse(message2.getBody())).willReturn(notificationMsg2);
+        willThrow(new RuntimeException("Batch insert failed"))
+            .given(notificationMessageHandler).handleNotifications(any());
+        willThrow(new RuntimeException("Insert failed"))
+            .given(notificationMessageHandler).handleNotificationMessage(notificationMsg2, "message2");
+
+        // when
+        notificationBatchProcessor.processNextBatch();
+
+        // then
+        verify(notificationMessageHandler).handleNotificationMessage(notificationMsg1, "message1");
+        verify(receiver).complete(message1);
+        verify(receiver, never()).complete(message2);
+        verify(receiver, never()).deadLetter(any(), any());
+    }
+
+    @Test
+    void should_handle_messages_skipped_by_batch_insert_as_duplicates() {
+        // given
+        var message = mockMessage("message");
+        var redelivered = mockMessage("redelivered");
+        given(redelivered.getDeliveryCount()).willReturn(1L);
+        given(receiver.receiveMessages(10, Duration.ofSeconds(1)))
+            .willReturn(new IterableStream<>(List.of(message, redelivered)));
+
+        var notificationMsg = mock(NotificationMsg.class);
+        given(notificationMessageParser.parse(message.getBody())).willReturn(notificationMsg);
+        given(notificationMessageParser.parse(redelivered.getBody())).willReturn(notificationMsg);
+        given(notificationMessageHandler.handleNotifications(any())).willReturn(Arrays.asList(1L, null));
+
+        // when
+        notificationBatchProcessor.processNextBatch();
+
+        // then
+        verify(receiver).complete(message);
+        verify(receiver).complete(redelivered);
+        verify(receiver, never()).deadLetter(any(), any());
+        verify(notificationMessageHandler, never()).handleNotificationMessage(any(), any());
+    }
+
+    @Test
+    void should_return_zero_when_queue_is_empty() {
+        // given
+        given(receiver.receiveMessages(10, Duration.ofSeconds(1))).willReturn(new IterableStream<>(List.of()));
+
+        // when
+        int received = notificationBatchProcessor.processNextBatch();
+
+        // then
+        assertThat(received).isZero();
+        verify(notificationMessageHandler, never()).handleNotifications(any());
+    }
+
+    private ServiceBusReceivedMessage mockMessage(String messageId) {
+        var message = mock(ServiceBusReceivedMessage.class);
+        given(message.getMessageId()).willReturn(messageId);
+        given(message.getBody()).willReturn(BinaryData.fromString(messageId));
+        return message;
+    }
+}
@@ -12,6 +12,9 @@ import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
 import uk.gov.hmcts.reform.notificationservice.exception.InvalidMessageException;
 import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
 import uk.gov.hmcts.reform.notificationservice.model.in.NotificationMsg;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.EagerDispatchQueue;
+
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.doThrow;
@@ -39,7 +42,9 @@ class NotificationMessageHandlerTest {
         notificationMessageHandler =
             new NotificationMessageHandler(notificationMessageMapper,
                                            notificationRepository,
-                                           secondaryClientJurisdictionsConfig);
+                                           secondaryClientJurisdictionsConfig,
+                                           Optional.empty(),
+                                           Optional.empty());
     }
 
     @Test
@@ -121,6 +126,53 @@ class NotificationMessageHandlerTest {
         verify(notificationRepository).insert(newNotification);
     }
 
+    @Test
+    void should_publish_inserted_notification_for_eager_dispatch_when_configured_for_it() {
+        NotificationMsg notificationMsg =
+            new NotificationMsg(
+                "Zipfile.zip",
+                "probate",
+                "A123",
+                "bulkscan",
+                "A1342411414214",
+                ErrorCode.ERR_AV_FAILED,
+                "error description Av not valid",
+                "processor"
+            );
+
+        String messageId = "message12345";
+        NewNotification newNotification =
+            new NewNotification(
+                "Zipfile.zip",
+                "A123",
+                "bulkscan",
+                "processor",
+                "A1342411414214",
+                ErrorCode.ERR_AV_FAILED,
+                "error description Av not valid",
+                messageId,
+                PRIMARY_CLIENT
+            );
+
+        EagerDispatchQueue eagerDispatchQueue = mock(EagerDispatchQueue.class);
+        notificationMessageHandler =
+            new NotificationMessageHandler(notificationMessageMapper,
+                                           notificationRepository,
+                                           secondaryClientJurisdictionsConfig,
+                                           Optional.empty(),
+                                           Optional.of(eagerDispatchQueue));
+
+        when(notificationMessageMapper.map(notificationMsg, messageId, PRIMARY_CLIENT)).thenReturn(newNotification);
+        when(notificationRepository.insert(newNotification)).thenReturn(21321312L);
+        when(eagerDispatchQueue.isEager(newNotification)).thenReturn(true);
+
+        // when
+        notificationMessageHandler.handleNotificationMessage(notificationMsg, messageId);
+
+        // then
+        verify(eagerDispatchQueue).publishAfterCommit(21321312L);
+    }
+
     @Test
     void should_rethrow_feign_exception_when_notification_call_fails() {
         NotificationMsg notificationMsg =
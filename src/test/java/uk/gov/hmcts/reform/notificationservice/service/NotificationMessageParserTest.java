@@ -59,6 +59,33 @@ class NotificationMessageParserTest {
                 .isInstanceOf(InvalidMessageException.class);
     }
 
+    @Test
+    void should_return_valid_notificationMessage_when_text_message_is_valid() throws JSONException {
+        NotificationMsg notificationMessage =
+            notificationMsgParser.parse(
+                notificationMessageAsJsonString(
+                    "fileName.zip",
+                    "divorce",
+                    "pobox",
+                    "divorce",
+                    "1234567890123456",
+                    ErrorCode.ERR_FILE_LIMIT_EXCEEDED,
+                    "size too big",
+                    "orchestrator"
+                )
+            );
+
+        assertThat(notificationMessage.zipFileName).isEqualTo("fileName.zip");
+        assertThat(notificationMessage.errorCode).isEqualTo(ErrorCode.ERR_FILE_LIMIT_EXCEEDED);
+        assertThat(notificationMessage.service).isEqualTo("orchestrator");
+    }
+
+    @Test
+    void should_throw_invalidMessageException_when_text_message_is_invalid() {
+        assertThatThrownBy(() -> notificationMsgParser.parse("parse exception"))
+            .isInstanceOf(InvalidMessageException.class);
+    }
+
     @Test
     void should_throw_InvalidMessageException_when_queue_message_is_null() {
         BinaryData nullBinaryData = BinaryData.fromObject((new Object()));
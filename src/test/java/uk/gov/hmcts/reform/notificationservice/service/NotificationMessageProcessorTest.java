@@ -6,6 +6,7 @@ import com.azure.messaging.servicebus.ServiceBusException;
 import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
 import com.azure.messaging.servicebus.models.DeadLetterOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,12 +47,16 @@ class NotificationMessageProcessorTest {
     @Mock
     private BinaryData messageBody;
 
+    private SimpleMeterRegistry meterRegistry;
+
 
     @BeforeEach
     void before() {
+        meterRegistry = new SimpleMeterRegistry();
         notificationMessageProcessor = new NotificationMessageProcessor(
             notificationMessageHandler,
             notificationMessageParser,
+            meterRegistry,
             5
         );
     }
@@ -110,6 +115,8 @@ class NotificationMessageProcessorTest {
         verify(notificationMessageParser).parse(messageBody);
         verify(notificationMessageHandler).handleNotificationMessage(notificationMsg, messageId);
         verify(messageContext).complete();
+        assertThat(meterRegistry.get("notification.message.processing").tag("result", "success").timer().count())
+            .isEqualTo(1);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.notificationservice.service;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -14,36 +15,56 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ContextConfiguration;
+import uk.gov.hmcts.reform.notificationservice.clients.BulkErrorNotificationClient;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationClient;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationClientSecondary;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationRequest;
 import uk.gov.hmcts.reform.notificationservice.clients.ErrorNotificationResponse;
+import uk.gov.hmcts.reform.notificationservice.clients.SupplierNotificationClient;
 import uk.gov.hmcts.reform.notificationservice.config.SecondaryClientJurisdictionsConfig;
+import uk.gov.hmcts.reform.notificationservice.data.DispatchCheckpointRepository;
 import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
 import uk.gov.hmcts.reform.notificationservice.data.Notification;
 import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
 import uk.gov.hmcts.reform.notificationservice.data.NotificationStatus;
+import uk.gov.hmcts.reform.notificationservice.exception.ConcurrencyLimitExceededException;
 import uk.gov.hmcts.reform.notificationservice.exception.FailedDependencyException;
 import uk.gov.hmcts.reform.notificationservice.exception.NotFoundException;
 import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
 import uk.gov.hmcts.reform.notificationservice.model.in.NotifyRequest;
 import uk.gov.hmcts.reform.notificationservice.model.out.NotificationInfo;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.BackoffPolicy;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.DispatchTimeBudget;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.FairShareScheduler;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.NotificationStatusWriter;
+import uk.gov.hmcts.reform.notificationservice.service.dispatch.PendingNotificationDispatcher;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -68,6 +89,9 @@ class NotificationServiceTest {
     @Mock
     private SecondaryClientJurisdictionsConfig secondaryClientJurisdictionsConfig;
 
+    @Mock
+    private DispatchCheckpointRepository dispatchCheckpointRepository;
+
     @Captor
     ArgumentCaptor<NewNotification> newNotificationCaptor;
 
@@ -79,33 +103,88 @@ class NotificationServiceTest {
     @BeforeEach
     void setUp() {
         when(secondaryClientJurisdictionsConfig.getJurisdictionList()).thenReturn(new String[] { "civil","cat" });
-        notificationService = new NotificationService(notificationRepository,
-                                                      notificationClient,
-                                                      errorNotificationClientSecondary,
-                                                      secondaryClientJurisdictionsConfig);
+        lenient().when(notificationRepository.findPendingServices()).thenReturn(List.of("service"));
+        notificationService = createNotificationService(Optional.empty());
     }
 
     @Test
     void should_call_repository_for_pending_notifications_to_begin_the_process() {
         notificationService.processPendingNotifications();
 
-        verify(notificationRepository, times(1)).findPending();
+        verify(notificationRepository, times(1)).findPendingPage("service", 0L, 5);
         verifyNoInteractions(notificationClient);
     }
 
+    @Test
+    void should_resume_pending_notifications_from_checkpoint_and_clear_it_once_drained() {
+        // given
+        given(dispatchCheckpointRepository.find("pending-notifications:service")).willReturn(100L);
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(1)).findPendingPage("service", 100L, 5);
+        verify(dispatchCheckpointRepository, times(1)).clear("pending-notifications:service");
+    }
+
+    @Test
+    void should_leave_checkpoint_and_not_call_supplier_when_time_budget_is_used_up() {
+        // given
+        var service = new NotificationService(notificationRepository,
+                                              mock(SupplierNotificationClient.class),
+                                              secondaryClientJurisdictionsConfig,
+                                              new PendingNotificationDispatcher(1, 1, 10),
+                                              mock(NotificationStatusWriter.class),
+                                              mock(BackoffPolicy.class),
+                                              new DispatchTimeBudget(Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                                              dispatchCheckpointRepository,
+                                              new FairShareScheduler("", 1, 5),
+                                              50,
+                                              Duration.ofMinutes(5));
+        given(dispatchCheckpointRepository.find("pending-notifications:service")).willReturn(100L);
+
+        // when
+        service.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, never()).findPendingPage(anyString(), anyLong(), anyInt());
+        verify(dispatchCheckpointRepository, times(1)).save("pending-notifications:service", 100L);
+        verify(dispatchCheckpointRepository, never()).clear(anyString());
+    }
+
     @Test
     void should_send_error_notification_to_client_and_update_db() {
         // given
         var notification = getSampleNotification("primary");
         var notificationId = "notification ID";
-        given(notificationRepository.findPending()).willReturn(singletonList(notification));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
         given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse(notificationId));
 
         // when
         notificationService.processPendingNotifications();
 
         // then
-        verify(notificationRepository, times(1)).markAsSent(notification.id, notificationId);
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(notification.id, notificationId));
+    }
+
+    @Test
+    void should_finish_run_and_clear_checkpoint_when_writing_sent_statuses_fails() {
+        // given
+        var notification = getSampleNotification("primary");
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification));
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse("notification ID"));
+        willThrow(new IllegalStateException("db down")).given(notificationRepository).markAllAsSent(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(notification.id, "notification ID"));
+        verify(dispatchCheckpointRepository, times(1)).clear("pending-notifications:service");
     }
 
     @ParameterizedTest
@@ -115,14 +194,16 @@ class NotificationServiceTest {
     ) {
         // given
         var notification = getSampleNotification("primary");
-        given(notificationRepository.findPending()).willReturn(singletonList(notification));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
         willThrow(instantiateFeignException(exceptionClass)).given(notificationClient).notify(any());
 
         // when
         notificationService.processPendingNotifications();
 
         // then
-        verify(notificationRepository, times(1)).markAsFailure(notification.id);
+        verify(notificationRepository, times(1)).markAllAsFailure(List.of(notification.id));
     }
 
     @ParameterizedTest
@@ -139,27 +220,196 @@ class NotificationServiceTest {
         var exception = exceptionClass.equals(FeignException.class)
             ? getDefaultFeignException()
             : instantiateFeignException(exceptionClass);
-        given(notificationRepository.findPending()).willReturn(singletonList(notification));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
         willThrow(exception).given(notificationClient).notify(any());
 
         // when
         notificationService.processPendingNotifications();
 
         // then
-        verify(notificationRepository, never()).markAsFailure(notification.id);
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_schedule_next_attempt_with_backoff_when_notification_is_postponed() {
+        // given
+        var notification = getSampleNotification("primary", 2);
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
+        willThrow(mock(FeignException.InternalServerError.class)).given(notificationClient).notify(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsPostponed(Map.of(notification.id, Duration.ofMinutes(4)));
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_mark_notification_as_failed_when_max_attempts_is_reached() {
+        // given
+        var notification = getSampleNotification("primary", 19);
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
+        willThrow(new RuntimeException()).given(notificationClient).notify(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsFailure(List.of(notification.id));
+        verify(notificationRepository, never()).markAllAsPostponed(any());
+    }
+
+    @Test
+    void should_not_count_attempt_when_no_concurrency_permit_is_acquired_in_time() {
+        // given
+        var notification = getSampleNotification("primary", 19);
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
+        willThrow(new ConcurrencyLimitExceededException("Concurrency limit of primary supplier reached"))
+            .given(notificationClient).notify(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, never()).markAllAsPostponed(any());
+        verify(notificationRepository, never()).markAllAsFailure(any());
     }
 
     @Test
     void should_leave_notification_as_is_when_unexpected_exception_is_thrown_and_continue() {
         // given
-        given(notificationRepository.findPending()).willReturn(singletonList(getSampleNotification("primary")));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(singletonList(getSampleNotification("primary")))
+            .willReturn(emptyList());
         willThrow(new RuntimeException()).given(notificationClient).notify(any());
 
         // when
         notificationService.processPendingNotifications();
 
         // then
-        verify(notificationRepository, never()).markAsFailure(anyLong());
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_stop_calling_supplier_once_its_circuit_breaker_opens() {
+        // given
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(distinctNotifications(8, "primary"))
+            .willReturn(emptyList());
+        willThrow(mock(FeignException.InternalServerError.class))
+            .given(notificationClient).notify(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationClient, times(5)).notify(any());
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_leave_checkpoint_before_notifications_skipped_while_circuit_breaker_is_open() {
+        // given
+        given(dispatchCheckpointRepository.find("pending-notifications:service")).willReturn(100L);
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(distinctNotifications(8, "primary"))
+            .willReturn(emptyList());
+        willThrow(mock(FeignException.InternalServerError.class))
+            .given(notificationClient).notify(any());
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationClient, times(5)).notify(any());
+        verify(dispatchCheckpointRepository, times(1)).save("pending-notifications:service", 100L);
+        verify(dispatchCheckpointRepository, never()).clear(anyString());
+    }
+
+    @Test
+    void should_not_read_pending_notifications_when_all_circuit_breakers_are_open() {
+        // given
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(distinctNotifications(5, "primary"))
+            .willReturn(distinctNotifications(5, "secondary"))
+            .willReturn(emptyList());
+        willThrow(mock(FeignException.ServiceUnavailable.class))
+            .given(notificationClient).notify(any());
+        willThrow(mock(FeignException.ServiceUnavailable.class))
+            .given(errorNotificationClientSecondary).notify(any());
+        notificationService.processPendingNotifications();
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(2)).findPendingPage(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void should_send_claimed_notifications_until_there_is_nothing_left_to_claim() {
+        // given
+        var notification = getSampleNotification("primary");
+        var notificationId = "notification ID";
+        given(notificationRepository.claimPending("owner"))
+            .willReturn(singletonList(notification))
+            .willReturn(emptyList());
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse(notificationId));
+
+        // when
+        notificationService.processClaimedNotifications("owner");
+
+        // then
+        verify(notificationRepository, times(2)).claimPending("owner");
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(notification.id, notificationId));
+    }
+
+    @Test
+    void should_wait_for_claimed_notifications_filling_a_lane_and_renew_their_claims_meanwhile() {
+        // given
+        var service = createNotificationService(Optional.empty(), Duration.ofMillis(200));
+        given(notificationRepository.claimPending("owner"))
+            .willReturn(distinctNotifications(10, "secondary"))
+            .willReturn(emptyList());
+        given(errorNotificationClientSecondary.notify(any())).willAnswer(invocation -> {
+            Thread.sleep(50);
+            return new ErrorNotificationResponse("supplier-1");
+        });
+
+        // when
+        service.processClaimedNotifications("owner");
+
+        // then
+        var inOrder = inOrder(notificationRepository);
+        inOrder.verify(notificationRepository).claimPending("owner");
+        inOrder.verify(notificationRepository, atLeastOnce())
+            .renewClaims(LongStream.rangeClosed(1, 10).boxed().toList(), "owner");
+        inOrder.verify(notificationRepository).claimPending("owner");
+    }
+
+    @Test
+    void should_send_eagerly_dispatched_notifications_which_could_be_claimed() {
+        // given
+        var notification = getSampleNotification("primary");
+        var notificationId = "notification ID";
+        given(notificationRepository.claimByIds(List.of(notification.id, 999L), "owner"))
+            .willReturn(singletonList(notification));
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse(notificationId));
+
+        // when
+        notificationService.processEagerNotifications(List.of(notification.id, 999L), "owner");
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(notification.id, notificationId));
     }
 
     @Test
@@ -489,6 +739,231 @@ class NotificationServiceTest {
         );
     }
 
+    @Test
+    void should_send_pending_notifications_in_bulk_when_enabled() {
+        // given
+        var bulkClient = mock(BulkErrorNotificationClient.class);
+        var service = createNotificationService(Optional.of(bulkClient));
+        var notification1 = getSampleNotification(1L, "primary");
+        var notification2 = getSampleNotification(2L, "primary");
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(List.of(notification1, notification2))
+            .willReturn(emptyList());
+        given(bulkClient.notifyBulk(anyString(), any())).willReturn(Map.of("1", "supplier-1", "2", "supplier-2"));
+
+        // when
+        service.processPendingNotifications();
+
+        // then
+        verify(bulkClient, times(1)).notifyBulk(anyString(), any());
+        verifyNoInteractions(notificationClient);
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(1L, "supplier-1", 2L, "supplier-2"));
+    }
+
+    @Test
+    void should_send_notifications_one_by_one_when_bulk_call_is_rejected_or_notification_not_accepted() {
+        // given
+        var bulkClient = mock(BulkErrorNotificationClient.class);
+        var service = createNotificationService(Optional.of(bulkClient));
+        var notification1 = getSampleNotification(1L, "primary");
+        var notification2 = getSampleNotification(2L, "primary");
+        var notification3 = getSampleNotification(3L, "secondary");
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(List.of(notification1, notification2, notification3))
+            .willReturn(emptyList());
+        given(bulkClient.notifyBulk(anyString(), any())).willReturn(Map.of("1", "supplier-1"));
+        willThrow(mock(FeignException.NotFound.class)).given(bulkClient).notifyBulk(eq("secondary"), any());
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse("supplier-2"));
+        given(errorNotificationClientSecondary.notify(any())).willReturn(new ErrorNotificationResponse("supplier-3"));
+
+        // when
+        service.processPendingNotifications();
+
+        // then
+        verify(notificationClient, times(1)).notify(any());
+        verify(errorNotificationClientSecondary, times(1)).notify(any());
+        verify(notificationRepository, times(1))
+            .markAllAsSent(Map.of(1L, "supplier-1", 2L, "supplier-2", 3L, "supplier-3"));
+    }
+
+    @Test
+    void should_postpone_notifications_with_backoff_when_bulk_call_fails_on_supplier_side() {
+        // given
+        var bulkClient = mock(BulkErrorNotificationClient.class);
+        var service = createNotificationService(Optional.of(bulkClient));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(List.of(getSampleNotification(1L, "primary"), getSampleNotification(2L, "primary")))
+            .willReturn(emptyList());
+        willThrow(mock(FeignException.ServiceUnavailable.class)).given(bulkClient).notifyBulk(eq("primary"), any());
+
+        // when
+        service.processPendingNotifications();
+
+        // then
+        verifyNoInteractions(notificationClient);
+        verify(notificationRepository, times(1))
+            .markAllAsPostponed(Map.of(1L, Duration.ofMinutes(1), 2L, Duration.ofMinutes(1)));
+        verify(notificationRepository, never()).markAllAsSent(any());
+    }
+
+    @Test
+    void should_not_count_attempts_when_no_concurrency_permit_is_acquired_in_time_for_bulk_call() {
+        // given
+        var bulkClient = mock(BulkErrorNotificationClient.class);
+        var service = createNotificationService(Optional.of(bulkClient));
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(List.of(getSampleNotification(1L, "primary"), getSampleNotification(2L, "primary")))
+            .willReturn(emptyList());
+        willThrow(new ConcurrencyLimitExceededException("Concurrency limit of primary supplier reached"))
+            .given(bulkClient).notifyBulk(eq("primary"), any());
+
+        // when
+        service.processPendingNotifications();
+
+        // then
+        verifyNoInteractions(notificationClient);
+        verify(notificationRepository, never()).markAllAsPostponed(any());
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_send_identical_notifications_once_and_link_duplicates_to_sent_one() {
+        // given
+        var notification = getSampleNotification(1L, "primary");
+        var duplicate = new Notification(
+            2L,
+            null,
+            notification.zipFileName,
+            notification.poBox,
+            notification.container,
+            notification.service,
+            "DCN2",
+            notification.errorCode,
+            notification.errorDescription,
+            Instant.now(),
+            null,
+            NotificationStatus.PENDING,
+            "messageId2",
+            "primary"
+        );
+        given(notificationRepository.findPendingPage(anyString(), anyLong(), anyInt()))
+            .willReturn(List.of(notification, duplicate))
+            .willReturn(emptyList());
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse("supplier-1"));
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationClient, times(1)).notify(any());
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(1L, "supplier-1", 2L, "supplier-1"));
+        verify(notificationRepository, times(1)).markAllAsCoalesced(Map.of(2L, 1L));
+    }
+
+    @Test
+    void should_share_each_batch_between_services_so_one_service_does_not_hold_up_the_others() {
+        // given
+        given(notificationRepository.findPendingServices()).willReturn(List.of("flood", "other"));
+        given(notificationRepository.findPendingPage("flood", 0L, 2))
+            .willReturn(List.of(getSampleNotification(1L, "primary", "flood"),
+                                getSampleNotification(2L, "primary", "flood")));
+        given(notificationRepository.findPendingPage("other", 0L, 2))
+            .willReturn(List.of(getSampleNotification(3L, "primary", "other")));
+        given(notificationRepository.findPendingPage("flood", 2L, 5))
+            .willReturn(List.of(getSampleNotification(4L, "primary", "flood")));
+        given(notificationClient.notify(any())).willReturn(new ErrorNotificationResponse("supplier-1"));
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        var requestCaptor = ArgumentCaptor.forClass(ErrorNotificationRequest.class);
+        verify(notificationClient, times(4)).notify(requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues())
+            .extracting(request -> request.zipFileName)
+            .containsExactly("zip_file_name_1", "zip_file_name_3", "zip_file_name_2", "zip_file_name_4");
+        verify(dispatchCheckpointRepository, times(1)).clear("pending-notifications:flood");
+        verify(dispatchCheckpointRepository, times(1)).clear("pending-notifications:other");
+    }
+
+    @Test
+    void should_send_primary_notifications_of_later_pages_while_secondary_supplier_is_blocked() {
+        // given
+        given(notificationRepository.findPendingPage("service", 0L, 5))
+            .willReturn(List.of(getSampleNotification(1L, "secondary"),
+                                getSampleNotification(2L, "primary"),
+                                getSampleNotification(3L, "primary"),
+                                getSampleNotification(4L, "primary"),
+                                getSampleNotification(5L, "primary")));
+        given(notificationRepository.findPendingPage("service", 5L, 5))
+            .willReturn(List.of(getSampleNotification(6L, "primary")));
+        CountDownLatch laterPageSent = new CountDownLatch(1);
+        given(notificationClient.notify(any())).willAnswer(invocation -> {
+            if ("6".equals(invocation.<ErrorNotificationRequest>getArgument(0).referenceId)) {
+                laterPageSent.countDown();
+            }
+            return new ErrorNotificationResponse("supplier-1");
+        });
+        // blocks until the primary notification of the second page is sent
+        given(errorNotificationClientSecondary.notify(any())).willAnswer(invocation -> new ErrorNotificationResponse(
+            laterPageSent.await(5, TimeUnit.SECONDS) ? "supplier-2" : "sent after second page"
+        ));
+
+        // when
+        notificationService.processPendingNotifications();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(
+            1L, "supplier-2",
+            2L, "supplier-1",
+            3L, "supplier-1",
+            4L, "supplier-1",
+            5L, "supplier-1",
+            6L, "supplier-1"
+        ));
+        verify(dispatchCheckpointRepository, times(1)).clear("pending-notifications:service");
+    }
+
+    private NotificationService createNotificationService(Optional<BulkErrorNotificationClient> bulkClient) {
+        return createNotificationService(bulkClient, Duration.ofMinutes(5));
+    }
+
+    private NotificationService createNotificationService(
+        Optional<BulkErrorNotificationClient> bulkClient,
+        Duration claimLease
+    ) {
+        var supplierNotificationClient = new SupplierNotificationClient(notificationClient,
+                                                                        errorNotificationClientSecondary,
+                                                                        Optional.empty(),
+                                                                        bulkClient,
+                                                                        new SimpleMeterRegistry(),
+                                                                        4,
+                                                                        20,
+                                                                        10,
+                                                                        0.5,
+                                                                        Duration.ofSeconds(5),
+                                                                        Duration.ofSeconds(1),
+                                                                        5,
+                                                                        Duration.ofMinutes(1));
+        return new NotificationService(notificationRepository,
+                                       supplierNotificationClient,
+                                       secondaryClientJurisdictionsConfig,
+                                       new PendingNotificationDispatcher(1, 1, 10),
+                                       new NotificationStatusWriter(notificationRepository,
+                                                                    100,
+                                                                    Duration.ofMinutes(1)),
+                                       new BackoffPolicy(Duration.ofMinutes(1),
+                                                         Duration.ofHours(6),
+                                                         0,
+                                                         20),
+                                       new DispatchTimeBudget(Duration.ofMinutes(10),
+                                                              Duration.ofMinutes(1)),
+                                       dispatchCheckpointRepository,
+                                       new FairShareScheduler("", 1, 5),
+                                       50,
+                                       claimLease);
+    }
+
     private Notification getSampleNotification(String client) {
         return new Notification(
             12345,
@@ -508,6 +983,26 @@ class NotificationServiceTest {
         );
     }
 
+    private Notification getSampleNotification(String client, int attemptCount) {
+        return new Notification(
+            12345,
+            null,
+            "zip_file_name",
+            "po_box",
+            "bulkscan",
+            "service",
+            "DCN",
+            ErrorCode.ERR_METAFILE_INVALID,
+            "invalid metafile",
+            Instant.now(),
+            null,
+            NotificationStatus.PENDING,
+            "messageId1",
+            client,
+            attemptCount
+        );
+    }
+
     private Notification getSampleNotification(String client, String messageId, NotificationStatus status) {
         return new Notification(
             12345,
@@ -527,6 +1022,33 @@ class NotificationServiceTest {
         );
     }
 
+    private Notification getSampleNotification(long id, String client) {
+        return getSampleNotification(id, client, "service");
+    }
+
+    private Notification getSampleNotification(long id, String client, String service) {
+        return new Notification(
+            id,
+            null,
+            "zip_file_name_" + id,
+            "po_box",
+            "bulkscan",
+            service,
+            "DCN",
+            ErrorCode.ERR_METAFILE_INVALID,
+            "invalid metafile",
+            Instant.now(),
+            null,
+            NotificationStatus.PENDING,
+            "messageId" + id,
+            client
+        );
+    }
+
+    private List<Notification> distinctNotifications(int count, String client) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> getSampleNotification(id, client)).toList();
+    }
+
     private FeignException instantiateFeignException(Class<FeignException> exceptionClass) {
         return mock(exceptionClass);
     }
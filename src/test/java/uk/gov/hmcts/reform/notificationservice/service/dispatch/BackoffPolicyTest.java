@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackoffPolicyTest {
+
+    @Test
+    void should_double_delay_with_every_attempt_up_to_max_delay() {
+        // given
+        var policy = new BackoffPolicy(Duration.ofMinutes(1), Duration.ofMinutes(10), 0, 5);
+
+        // when
+        var delays = IntStream.rangeClosed(1, 6).mapToObj(policy::delayFor).toList();
+
+        // then
+        assertThat(delays).containsExactly(
+            Duration.ofMinutes(1),
+            Duration.ofMinutes(2),
+            Duration.ofMinutes(4),
+            Duration.ofMinutes(8),
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(10)
+        );
+    }
+
+    @Test
+    void should_take_random_part_off_the_delay_within_jitter_ratio() {
+        // given
+        var policy = new BackoffPolicy(Duration.ofMinutes(1), Duration.ofHours(6), 0.5, 5);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            Duration delay = policy.delayFor(3);
+
+            // then
+            assertThat(delay).isBetween(Duration.ofMinutes(2), Duration.ofMinutes(4));
+        }
+    }
+
+    @Test
+    void should_give_up_once_max_attempts_is_reached() {
+        // given
+        var policy = new BackoffPolicy(Duration.ofMinutes(1), Duration.ofHours(6), 0.5, 3);
+
+        // then
+        assertThat(policy.isExhausted(2)).isFalse();
+        assertThat(policy.isExhausted(3)).isTrue();
+    }
+}
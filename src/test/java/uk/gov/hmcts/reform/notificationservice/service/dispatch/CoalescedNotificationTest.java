@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.notificationservice.data.Notification;
+import uk.gov.hmcts.reform.notificationservice.data.NotificationStatus;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescedNotificationTest {
+
+    @Test
+    void should_group_identical_notifications_behind_first_one() {
+        // given
+        var notifications = List.of(
+            notification(1, "a.zip", ErrorCode.ERR_METAFILE_INVALID, "primary"),
+            notification(2, "b.zip", ErrorCode.ERR_METAFILE_INVALID, "primary"),
+            notification(3, "a.zip", ErrorCode.ERR_METAFILE_INVALID, "primary"),
+            notification(4, "a.zip", ErrorCode.ERR_AV_FAILED, "primary"),
+            notification(5, "a.zip", ErrorCode.ERR_METAFILE_INVALID, "secondary"),
+            notification(6, "a.zip", ErrorCode.ERR_METAFILE_INVALID, "primary")
+        );
+
+        // when
+        var coalesced = CoalescedNotification.coalesce(notifications);
+
+        // then
+        assertThat(coalesced)
+            .extracting(group -> group.notification.id)
+            .containsExactly(1L, 2L, 4L, 5L);
+        assertThat(coalesced.get(0).duplicates)
+            .extracting(notification -> notification.id)
+            .containsExactly(3L, 6L);
+        assertThat(coalesced.get(0).members())
+            .extracting(notification -> notification.id)
+            .containsExactly(1L, 3L, 6L);
+        assertThat(coalesced.get(1).duplicates).isEmpty();
+    }
+
+    @Test
+    void should_not_treat_same_notification_read_twice_as_duplicate() {
+        // given
+        var notification = notification(1, "a.zip", ErrorCode.ERR_METAFILE_INVALID, "primary");
+
+        // when
+        var coalesced = CoalescedNotification.coalesce(List.of(notification, notification));
+
+        // then
+        assertThat(coalesced)
+            .singleElement()
+            .satisfies(group -> assertThat(group.duplicates).isEmpty());
+    }
+
+    private Notification notification(long id, String zipFileName, ErrorCode errorCode, String client) {
+        return new Notification(
+            id,
+            null,
+            zipFileName,
+            "po_box",
+            "bulkscan",
+            "service",
+            "DCN" + id,
+            errorCode,
+            "error description",
+            Instant.now(),
+            null,
+            NotificationStatus.PENDING,
+            "messageId" + id,
+            client
+        );
+    }
+}
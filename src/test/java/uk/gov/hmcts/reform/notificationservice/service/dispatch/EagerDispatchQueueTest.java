@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.notificationservice.data.NewNotification;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+import uk.gov.hmcts.reform.notificationservice.service.NotificationService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EagerDispatchQueueTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private EagerDispatchQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void should_select_notifications_by_error_code_or_service() {
+        // given
+        queue = new EagerDispatchQueue(notificationService, "err_av_failed", " Probate ", 10, 5);
+
+        // when
+        // then
+        assertThat(queue.isEager(newNotification(ErrorCode.ERR_AV_FAILED, "bulkscan"))).isTrue();
+        assertThat(queue.isEager(newNotification(ErrorCode.ERR_METAFILE_INVALID, "probate"))).isTrue();
+        assertThat(queue.isEager(newNotification(ErrorCode.ERR_METAFILE_INVALID, "bulkscan"))).isFalse();
+    }
+
+    @Test
+    void should_send_published_notifications_straight_away() {
+        // given
+        queue = new EagerDispatchQueue(notificationService, "ERR_AV_FAILED", "", 10, 5);
+        queue.start();
+
+        // when
+        queue.publishAfterCommit(1L);
+
+        // then
+        verify(notificationService, timeout(5_000)).processEagerNotifications(eq(List.of(1L)), anyString());
+    }
+
+    @Test
+    void should_reject_unknown_error_codes() {
+        assertThatThrownBy(() -> new EagerDispatchQueue(notificationService, "ERR_UNKNOWN", "", 10, 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private NewNotification newNotification(ErrorCode errorCode, String service) {
+        return new NewNotification(
+            "zip_file_name",
+            "po_box",
+            "bulkscan",
+            service,
+            "dcn",
+            errorCode,
+            "error_description",
+            "message_id",
+            "primary"
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FairShareSchedulerTest {
+
+    @Test
+    void should_share_batch_between_services_in_proportion_to_their_weights() {
+        // given
+        var allocation = new FairShareScheduler(" Bulkscan:3, probate:1 ", 1, 10).startRun();
+
+        // when
+        var quotas = allocation.nextQuotas(List.of("bulkscan", "probate", "divorce"));
+
+        // then
+        assertThat(quotas).isEqualTo(Map.of("bulkscan", 6, "probate", 2, "divorce", 2));
+    }
+
+    @Test
+    void should_carry_remainder_of_share_over_to_next_batches() {
+        // given
+        var allocation = new FairShareScheduler("bulkscan:3", 1, 2).startRun();
+        var services = List.of("bulkscan", "probate");
+
+        // when
+        int probateTotal = 0;
+        for (int batch = 0; batch < 6; batch++) {
+            probateTotal += allocation.nextQuotas(services).get("probate");
+        }
+
+        // then
+        // half a notification per batch
+        assertThat(probateTotal).isEqualTo(3);
+    }
+
+    @Test
+    void should_give_whole_batch_to_only_service_left() {
+        // given
+        var allocation = new FairShareScheduler("", 1, 10).startRun();
+
+        // when
+        // then
+        assertThat(allocation.nextQuotas(List.of("bulkscan"))).isEqualTo(Map.of("bulkscan", 10));
+    }
+
+    @Test
+    void should_reject_invalid_weights() {
+        assertThatThrownBy(() -> new FairShareScheduler("bulkscan", 1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FairShareScheduler("bulkscan:0", 1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FairShareScheduler("", 0, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
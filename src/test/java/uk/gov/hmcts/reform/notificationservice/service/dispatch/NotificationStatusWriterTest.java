@@ -0,0 +1,135 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.notificationservice.data.NotificationRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStatusWriterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationStatusWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new NotificationStatusWriter(notificationRepository, 3, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    void should_not_write_until_batch_size_is_reached() {
+        // when
+        writer.markAsSent(1, "confirmation-1");
+        writer.markAsFailure(2);
+
+        // then
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void should_write_statuses_in_batches_when_batch_size_is_reached() {
+        // when
+        writer.markAsSent(1, "confirmation-1");
+        writer.markAsFailure(2);
+        writer.markAsSent(3, "confirmation-3");
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(1L, "confirmation-1", 3L, "confirmation-3"));
+        verify(notificationRepository, times(1)).markAllAsFailure(List.of(2L));
+    }
+
+    @Test
+    void should_write_buffered_statuses_on_flush() {
+        // given
+        writer.markAsSent(1, "confirmation-1");
+
+        // when
+        writer.flush();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(1L, "confirmation-1"));
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_write_postponed_notifications_with_their_retry_delay() {
+        // given
+        writer.markAsPostponed(1, Duration.ofMinutes(2));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsPostponed(Map.of(1L, Duration.ofMinutes(2)));
+        verify(notificationRepository, never()).markAllAsSent(any());
+        verify(notificationRepository, never()).markAllAsFailure(any());
+    }
+
+    @Test
+    void should_keep_statuses_for_next_flush_when_write_fails() {
+        // given
+        writer.markAsFailure(1);
+        willThrow(new IllegalStateException("db down"))
+            .willReturn(1)
+            .given(notificationRepository).markAllAsFailure(List.of(1L));
+
+        // when
+        assertThatThrownBy(writer::flush).isInstanceOf(IllegalStateException.class);
+        writer.flush();
+
+        // then
+        verify(notificationRepository, times(2)).markAllAsFailure(List.of(1L));
+    }
+
+    @Test
+    void should_not_fail_caller_when_write_triggered_by_batch_size_fails() {
+        // given
+        willThrow(new IllegalStateException("db down"))
+            .willReturn(1)
+            .given(notificationRepository).markAllAsSent(any());
+
+        // when
+        writer.markAsSent(1, "confirmation-1");
+        writer.markAsSent(2, "confirmation-2");
+        writer.markAsSent(3, "confirmation-3");
+        writer.flush();
+
+        // then
+        verify(notificationRepository, times(2))
+            .markAllAsSent(Map.of(1L, "confirmation-1", 2L, "confirmation-2", 3L, "confirmation-3"));
+    }
+
+    @Test
+    void should_write_straight_away_after_shutdown() {
+        // given
+        writer.shutdown();
+
+        // when
+        writer.markAsSent(1, "confirmation-1");
+
+        // then
+        verify(notificationRepository, times(1)).markAllAsSent(Map.of(1L, "confirmation-1"));
+    }
+}
@@ -0,0 +1,271 @@
+package uk.gov.hmcts.reform.notificationservice.service.dispatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.notificationservice.data.Notification;
+import uk.gov.hmcts.reform.notificationservice.data.NotificationStatus;
+import uk.gov.hmcts.reform.notificationservice.model.common.ErrorCode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PendingNotificationDispatcherTest {
+
+    private final PendingNotificationDispatcher dispatcher = new PendingNotificationDispatcher(4, 1, 10);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void should_send_notifications_for_same_zip_file_in_order() {
+        // given
+        var notifications = List.of(
+            notification(1, "a.zip"),
+            notification(2, "b.zip"),
+            notification(3, "a.zip"),
+            notification(4, "c.zip"),
+            notification(5, "a.zip"),
+            notification(6, "b.zip")
+        );
+        Map<String, List<Long>> sentPerZipFile = new ConcurrentHashMap<>();
+
+        // when
+        dispatcher.dispatch(notifications, notification -> {
+            sentPerZipFile
+                .computeIfAbsent(notification.zipFileName, zipFileName -> new CopyOnWriteArrayList<>())
+                .add(notification.id);
+            return DispatchOutcome.SENT;
+        });
+
+        // then
+        assertThat(sentPerZipFile.get("a.zip")).containsExactly(1L, 3L, 5L);
+        assertThat(sentPerZipFile.get("b.zip")).containsExactly(2L, 6L);
+        assertThat(sentPerZipFile.get("c.zip")).containsExactly(4L);
+    }
+
+    @Test
+    void should_count_outcomes_of_all_notifications() {
+        // given
+        var notifications = List.of(
+            notification(1, "a.zip"),
+            notification(2, "b.zip"),
+            notification(3, "c.zip"),
+            notification(4, "d.zip")
+        );
+
+        // when
+        DispatchSummary summary = dispatcher.dispatch(notifications, notification -> {
+            if (notification.id == 1) {
+                return DispatchOutcome.FAILED;
+            } else if (notification.id == 2) {
+                throw new IllegalStateException("unexpected");
+            }
+            return DispatchOutcome.SENT;
+        });
+
+        // then
+        assertThat(summary.getOkCount()).isEqualTo(2);
+        assertThat(summary.getFailedCount()).isEqualTo(1);
+        assertThat(summary.getPostponedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_send_primary_notifications_while_secondary_lane_is_busy() {
+        // given
+        var notifications = List.of(
+            notification(1, "a.zip", "secondary"),
+            notification(2, "b.zip", "primary"),
+            notification(3, "c.zip", "primary")
+        );
+        CountDownLatch primarySent = new CountDownLatch(2);
+
+        // when
+        DispatchSummary summary = dispatcher.dispatch(notifications, notification -> {
+            if ("secondary".equals(notification.client)) {
+                // blocks the only secondary worker until primary lane has sent everything
+                return await(primarySent) ? DispatchOutcome.SENT : DispatchOutcome.POSTPONED;
+            }
+            primarySent.countDown();
+            return DispatchOutcome.SENT;
+        });
+
+        // then
+        assertThat(summary.getOkCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_send_primary_notifications_of_later_batches_while_secondary_sender_is_blocked() {
+        // given
+        CompletableFuture<DispatchOutcome> secondaryCall = new CompletableFuture<>();
+        DispatchSummary summary = new DispatchSummary();
+        Function<Notification, CompletableFuture<DispatchOutcome>> sender = notification -> {
+            if ("secondary".equals(notification.client)) {
+                // does not complete until the end of the test
+                return secondaryCall;
+            }
+            return CompletableFuture.completedFuture(DispatchOutcome.SENT);
+        };
+
+        // when
+        CompletableFuture<Void> firstBatch = dispatcher.dispatchAsync(
+            List.of(notification(1, "a.zip", "secondary"), notification(2, "b.zip", "primary")),
+            sender,
+            summary
+        );
+        CompletableFuture<Void> secondBatch = dispatcher.dispatchAsync(
+            List.of(notification(3, "c.zip", "primary"), notification(4, "a.zip", "secondary")),
+            sender,
+            summary
+        );
+        CompletableFuture<Void> thirdBatch = dispatcher.dispatchAsync(
+            List.of(notification(5, "d.zip", "primary")),
+            sender,
+            summary
+        );
+
+        // then
+        // only primary notifications in the last batch, so it completes while the secondary call is still blocked
+        assertThat(thirdBatch).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(summary.getOkCount()).isEqualTo(3);
+        assertThat(firstBatch).isNotDone();
+        assertThat(secondBatch).isNotDone();
+
+        secondaryCall.complete(DispatchOutcome.SENT);
+        CompletableFuture.allOf(firstBatch, secondBatch, thirdBatch).join();
+        assertThat(summary.getOkCount()).isEqualTo(5);
+    }
+
+    @Test
+    void should_hand_over_secondary_notifications_while_another_thread_waits_for_room_in_primary_lane() {
+        // given
+        var smallDispatcher = new PendingNotificationDispatcher(1, 1, 1);
+        CompletableFuture<DispatchOutcome> primaryCall = new CompletableFuture<>();
+        CountDownLatch primaryCallStarted = new CountDownLatch(1);
+        DispatchSummary summary = new DispatchSummary();
+        Function<Notification, CompletableFuture<DispatchOutcome>> sender = notification -> {
+            if ("primary".equals(notification.client)) {
+                primaryCallStarted.countDown();
+                return primaryCall;
+            }
+            return CompletableFuture.completedFuture(DispatchOutcome.SENT);
+        };
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            // second notification waits for room until the first primary call completes
+            CompletableFuture<Void> primaryBatch = CompletableFuture.supplyAsync(
+                () -> smallDispatcher.dispatchAsync(
+                    List.of(notification(1, "a.zip", "primary"), notification(2, "b.zip", "primary")),
+                    sender,
+                    summary
+                ),
+                caller
+            ).thenCompose(handedOver -> handedOver);
+            assertThat(await(primaryCallStarted)).isTrue();
+            CompletableFuture<Void> secondaryBatch = smallDispatcher.dispatchAsync(
+                List.of(notification(3, "c.zip", "secondary")),
+                sender,
+                summary
+            );
+
+            // then
+            assertThat(secondaryBatch).succeedsWithin(Duration.ofSeconds(5));
+            assertThat(primaryBatch).isNotDone();
+
+            primaryCall.complete(DispatchOutcome.SENT);
+            assertThat(primaryBatch).succeedsWithin(Duration.ofSeconds(5));
+            assertThat(summary.getOkCount()).isEqualTo(3);
+        } finally {
+            caller.shutdown();
+            smallDispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void should_keep_several_async_calls_in_flight_on_single_worker_lane() {
+        // given
+        var notifications = List.of(
+            notification(1, "a.zip", "secondary"),
+            notification(2, "b.zip", "secondary"),
+            notification(3, "a.zip", "secondary"),
+            notification(4, "c.zip", "secondary")
+        );
+        CountDownLatch callsStarted = new CountDownLatch(3);
+        List<Long> sentForA = new CopyOnWriteArrayList<>();
+        ExecutorService supplier = Executors.newCachedThreadPool();
+        DispatchSummary summary = new DispatchSummary();
+
+        // when
+        try {
+            dispatcher.dispatchAsync(notifications, notification -> {
+                callsStarted.countDown();
+                return CompletableFuture.supplyAsync(
+                    () -> {
+                        // completes only once calls for all zip files are in flight at the same time
+                        if (!await(callsStarted)) {
+                            return DispatchOutcome.POSTPONED;
+                        }
+                        if ("a.zip".equals(notification.zipFileName)) {
+                            sentForA.add(notification.id);
+                        }
+                        return DispatchOutcome.SENT;
+                    },
+                    supplier
+                );
+            }, summary).join();
+        } finally {
+            supplier.shutdown();
+        }
+
+        // then
+        assertThat(summary.getOkCount()).isEqualTo(4);
+        assertThat(sentForA).containsExactly(1L, 3L);
+    }
+
+    private boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Notification notification(long id, String zipFileName) {
+        return notification(id, zipFileName, "primary");
+    }
+
+    private Notification notification(long id, String zipFileName, String client) {
+        return new Notification(
+            id,
+            null,
+            zipFileName,
+            "po_box",
+            "bulkscan",
+            "service",
+            "DCN",
+            ErrorCode.ERR_METAFILE_INVALID,
+            "invalid metafile",
+            Instant.now(),
+            null,
+            NotificationStatus.PENDING,
+            "messageId" + id,
+            client
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.notificationservice.task;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PendingNotificationsWakeUpListenerTest {
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ObjectProvider<PendingNotificationsTask> pendingNotificationsTask;
+
+    @Mock
+    private ObjectProvider<ClaimPendingNotificationsTask> claimPendingNotificationsTask;
+
+    private PendingNotificationsWakeUpListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new PendingNotificationsWakeUpListener(
+            "jdbc:postgresql://localhost:5432/notifications",
+            "user",
+            "password",
+            taskScheduler,
+            pendingNotificationsTask,
+            claimPendingNotificationsTask,
+            2
+        );
+    }
+
+    @Test
+    void should_schedule_task_for_when_inserted_notification_becomes_due() {
+        // given
+        Instant before = Instant.now();
+
+        // when
+        listener.onNotificationInserted();
+
+        // then
+        var wakeUpCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), wakeUpCaptor.capture());
+        assertThat(wakeUpCaptor.getValue())
+            .isAfterOrEqualTo(before.plus(Duration.ofMinutes(2)))
+            .isBeforeOrEqualTo(Instant.now().plus(Duration.ofMinutes(2)).plus(
+                PendingNotificationsWakeUpListener.COALESCE_WINDOW
+            ));
+    }
+
+    @Test
+    void should_send_burst_of_inserted_notifications_in_single_run() {
+        // when
+        listener.onNotificationInserted();
+        listener.onNotificationInserted();
+        listener.onNotificationInserted();
+
+        // then
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+}